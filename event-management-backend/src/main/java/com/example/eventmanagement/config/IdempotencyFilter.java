@@ -0,0 +1,266 @@
+package com.example.eventmanagement.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.model.IdempotencyRecord;
+import com.example.eventmanagement.service.IdempotencyService;
+import com.example.eventmanagement.util.IdempotencyStatus;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Replays the stored response when a client retries a booking, order or payment request
+ * with the same Idempotency-Key header. Requests without the header are not affected.
+ * Keys are scoped to the user the request is made for, so two users sending the same key
+ * never see each other's responses.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/tickets/book", "/tickets/book-batch", "/api/orders/create", "/payment/verify");
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    // Length of idempotency_keys.idempotency_key
+    private static final int MAX_STORED_KEY_LENGTH = 150;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getServletPath())
+                || key == null || key.isBlank();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String clientKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (clientKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // A form body is parsed into parameters before the stream is read, for first requests and retries alike
+        String userParam = request.getParameter("userId");
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String key = request.getServletPath() + ":" + userId(userParam, body) + ":" + clientKey;
+        if (key.length() > MAX_STORED_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key is too long for this request");
+            return;
+        }
+        String hash = requestHash(request, body);
+
+        Optional<IdempotencyRecord> stored = idempotencyService.claim(key, hash);
+        if (stored.isPresent()) {
+            replay(response, stored.get(), hash);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(new BufferedBodyRequest(request, body), responseWrapper);
+
+            // Failed requests are not stored so the client can fix the problem and retry
+            if (succeeded(responseWrapper)) {
+                idempotencyService.complete(key, hash, responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray());
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.release(key, hash);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    // A 2xx whose JSON body says "success": false, like a failed /payment/verify, failed too
+    private boolean succeeded(ContentCachingResponseWrapper response) {
+        if (!HttpStatus.valueOf(response.getStatus()).is2xxSuccessful()) {
+            return false;
+        }
+        byte[] body = response.getContentAsByteArray();
+        if (body.length == 0 || response.getContentType() == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType()))) {
+            return true;
+        }
+        try {
+            JsonNode success = objectMapper.readTree(body).get("success");
+            return success == null || !success.isBoolean() || success.booleanValue();
+        } catch (JacksonException e) {
+            return true;
+        }
+    }
+
+    // The user id is a request parameter for /tickets/book and a body field for the other paths
+    private String userId(String userParam, byte[] body) {
+        if (userParam != null) {
+            return userParam.trim();
+        }
+        if (body.length == 0) {
+            return "";
+        }
+        try {
+            String userId = objectMapper.readValue(body, UserScope.class).userId();
+            return userId == null ? "" : userId.trim();
+        } catch (JacksonException e) {
+            // Rejected by the controller, which then keeps the key from being stored
+            return "";
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord record, String hash) throws IOException {
+        if (!hash.equals(record.getRequestHash())) {
+            reject(response, HttpStatus.UNPROCESSABLE_CONTENT,
+                    "Idempotency-Key has already been used for a different request");
+            return;
+        }
+
+        if (record.getStatus() == IdempotencyStatus.PENDING) {
+            reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+            return;
+        }
+
+        response.setStatus(record.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getResponseBody() != null) {
+            response.setContentLength(record.getResponseBody().length);
+            response.getOutputStream().write(record.getResponseBody());
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ResponseStructure<String> body = ResponseStructure.<String>builder()
+                .statusCode(status.value()).message(message).data("ERROR").build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+
+    // Query parameters and body, so a reused key with a different payload is caught
+    private String requestHash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record UserScope(String userId) {
+    }
+
+    // Serves the body read by the filter to the controller, which would otherwise find the stream drained
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.eventmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+// A retried method must start a new transaction per attempt: the retry advice wraps the
+// transaction advice, never the other way round. The transactional proxy is created by the
+// auto-proxy creator; the retry post-processor runs last and puts its advisor in front of it
+@Configuration
+@EnableTransactionManagement(proxyTargetClass = true, order = ResilienceConfig.TRANSACTION_ORDER)
+@EnableResilientMethods(proxyTargetClass = true, order = ResilienceConfig.RETRY_ORDER)
+public class ResilienceConfig {
+
+    static final int TRANSACTION_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    static final int RETRY_ORDER = Ordered.LOWEST_PRECEDENCE;
+}
@@ -0,0 +1,37 @@
+package com.example.eventmanagement.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.eventmanagement.dto.CheckInResponse;
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.service.CheckInService;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/check-in")
+public class CheckInController {
+
+	@Autowired
+	private CheckInService checkInService;
+
+	@PostMapping("/{eventId}/open")
+	public ResponseStructure<CheckInResponse> openDoors(@PathVariable int eventId, @RequestParam int creatorId) {
+		return checkInService.openDoors(eventId, creatorId);
+	}
+
+	@PostMapping("/{eventId}/scan")
+	public ResponseStructure<CheckInResponse> scan(@PathVariable int eventId, @RequestParam String code) {
+		return checkInService.scan(eventId, code);
+	}
+
+	@GetMapping("/{eventId}")
+	public ResponseStructure<CheckInResponse> getStatus(@PathVariable int eventId, @RequestParam int creatorId) {
+		return checkInService.getStatus(eventId, creatorId);
+	}
+
+	@PostMapping("/{eventId}/close")
+	public ResponseStructure<CheckInResponse> closeDoors(@PathVariable int eventId, @RequestParam int creatorId) {
+		return checkInService.closeDoors(eventId, creatorId);
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.eventmanagement.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.SeriesPoint;
+import com.example.eventmanagement.service.DashboardService;
+import com.example.eventmanagement.util.SeriesGranularity;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@GetMapping("/organizer/{userId}")
+	public ResponseStructure<Map<String, Object>> getOrganizerDashboard(@PathVariable int userId) {
+		return dashboardService.getOrganizerDashboard(userId);
+	}
+
+	@GetMapping("/event/{eventId}/details")
+	public ResponseStructure<Map<String, Object>> getEventDetails(@PathVariable int eventId,
+			@RequestParam int userId) {
+		return dashboardService.getEventDetails(eventId, userId);
+	}
+
+	@GetMapping("/event/{eventId}/series")
+	public ResponseStructure<List<SeriesPoint>> getEventSeries(@PathVariable int eventId,
+			@RequestParam int userId,
+			@RequestParam(defaultValue = "HOUR") SeriesGranularity granularity,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		return dashboardService.getEventSeries(eventId, userId, granularity, from, to);
+	}
+}
@@ -2,15 +2,29 @@ package com.example.eventmanagement.controller;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.eventmanagement.dto.CursorPage;
+import com.example.eventmanagement.dto.EventFacetFilter;
 import com.example.eventmanagement.dto.EventRequest;
+import com.example.eventmanagement.dto.EventSummary;
+import com.example.eventmanagement.dto.FacetedEventPage;
 import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.SerializedResponse;
 import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.service.AttendeeExportService;
 import com.example.eventmanagement.service.EventService;
 import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.ExportFormat;
 @CrossOrigin
 @RestController
 @RequestMapping("/events")
@@ -19,16 +33,27 @@ public class EventController {
 	@Autowired
 	private EventService eventService;
 
+	@Autowired
+	private AttendeeExportService attendeeExportService;
+
 	@PostMapping("/create")
 	public ResponseStructure<Event> createEvent(@RequestBody EventRequest request, @RequestParam int userId) {
 		return eventService.createEvent(request, userId);
 	}
 
+	// Deprecated listings return at most the first 500 events in page order; use the /page variant
+	@Deprecated
 	@GetMapping("/all")
 	public ResponseStructure<List<Event>> viewAllEvents() {
 		return eventService.viewAllEvents();
 	}
 
+	@GetMapping("/all/page")
+	public ResponseStructure<CursorPage<EventSummary>> viewAllEventsPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return eventService.viewAllEventsPage(cursor, size);
+	}
+
 	@DeleteMapping("/delete")
 	public ResponseStructure<String> deleteEvent(@RequestParam int eventId, @RequestParam int userId) {
 		return eventService.deleteEvent(eventId, userId);
@@ -39,15 +64,33 @@ public class EventController {
 		return eventService.viewEventBookings(eventId, creatorId);
 	}
 
+	@GetMapping("/bookings/export")
+	public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam int eventId, @RequestParam int creatorId,
+			@RequestParam(defaultValue = "CSV") ExportFormat format) {
+		StreamingResponseBody body = attendeeExportService.exportAttendees(eventId, creatorId, format);
+		String filename = "event-" + eventId + "-attendees." + format.getExtension();
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(format.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+				.body(body);
+	}
+
 	@PutMapping("/update")
 	public ResponseStructure<Event> updateEvent(@RequestParam int eventId, @RequestParam int creatorId,
 			@RequestBody EventRequest request) {
 		return eventService.updateEvent(eventId, creatorId, request);
 	}
 
+	@Deprecated
 	@GetMapping("/public")
-	public ResponseStructure<List<Event>> getPublicEvents() {
-		return eventService.getPublicEvents();
+	public ResponseEntity<byte[]> getPublicEvents(WebRequest request) {
+		return serialized(eventService.getPublicEvents(), request);
+	}
+
+	@GetMapping("/public/page")
+	public ResponseStructure<CursorPage<EventSummary>> getPublicEventsPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return eventService.getPublicEventsPage(cursor, size);
 	}
 
 	@GetMapping("/search")
@@ -55,27 +98,89 @@ public class EventController {
 		return eventService.searchEvents(keyword);
 	}
 
+	@GetMapping("/suggest")
+	public ResponseStructure<List<String>> suggestEvents(@RequestParam String prefix,
+			@RequestParam(required = false) Integer limit) {
+		return eventService.suggestEvents(prefix, limit);
+	}
+
 	@GetMapping("/filter")
-	public ResponseStructure<List<Event>> getEventsWithFilters(
+	public ResponseEntity<byte[]> getEventsWithFilters(
 			@RequestParam(required = false) LocalDate startDate,
 			@RequestParam(required = false) LocalDate endDate,
-			@RequestParam(required = false) EventCategory category) {
-		return eventService.getEventsWithFilters(startDate, endDate, category);
+			@RequestParam(required = false) EventCategory category,
+			WebRequest request) {
+		return serialized(eventService.getEventsWithFilters(startDate, endDate, category), request);
+	}
+
+	@GetMapping("/browse")
+	public ResponseStructure<FacetedEventPage> browseEvents(EventFacetFilter filter) {
+		return eventService.browseEvents(filter);
 	}
 
+	@Deprecated
 	@GetMapping("/category/{category}")
-	public ResponseStructure<List<Event>> getEventsByCategory(@PathVariable EventCategory category) {
-		return eventService.getEventsByCategory(category);
+	public ResponseEntity<byte[]> getEventsByCategory(@PathVariable EventCategory category, WebRequest request) {
+		return serialized(eventService.getEventsByCategory(category), request);
+	}
+
+	@GetMapping("/category/{category}/page")
+	public ResponseStructure<CursorPage<EventSummary>> getEventsByCategoryPage(@PathVariable EventCategory category,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+		return eventService.getEventsByCategoryPage(category, cursor, size);
 	}
 
+	@Deprecated
 	@GetMapping("/my-events")
 	public ResponseStructure<List<Event>> getMyEvents(@RequestParam int userId) {
 		return eventService.getEventsByCreator(userId);
 	}
 
+	@GetMapping("/my-events/page")
+	public ResponseStructure<CursorPage<EventSummary>> getMyEventsPage(@RequestParam int userId,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+		return eventService.getEventsByCreatorPage(userId, cursor, size);
+	}
+
+	@GetMapping("/cache-stats")
+	public ResponseStructure<Map<String, Object>> getCatalogCacheStats() {
+		return eventService.getCatalogCacheStats();
+	}
+
 	@GetMapping("/details")
-	public ResponseStructure<Event> getEventDetails(@RequestParam int eventId) {
-		return eventService.getEventDetails(eventId);
+	public ResponseEntity<byte[]> getEventDetails(@RequestParam int eventId, WebRequest request) {
+		return serialized(eventService.getEventDetails(eventId), request);
+	}
+
+	// Cached bytes go out as they are; a matching If-None-Match gets 304 with no body
+	private ResponseEntity<byte[]> serialized(SerializedResponse response, WebRequest request) {
+		boolean gzip = response.gzipped() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+		String etag = gzip ? response.gzippedEtag() : response.etag();
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.eTag(etag)
+				.varyBy(HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return builder.body(gzip ? response.gzipped() : response.json());
+	}
+
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.trim().split(";");
+			if (parts[0].trim().equalsIgnoreCase("gzip")) {
+				return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
 	}
 
 }
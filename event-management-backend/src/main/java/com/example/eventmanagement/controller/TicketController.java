@@ -5,9 +5,15 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.eventmanagement.dto.AdmissionResponse;
+import com.example.eventmanagement.dto.BatchBookingRequest;
+import com.example.eventmanagement.dto.CursorPage;
 import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.WaitlistResponse;
 import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.service.FlashSaleService;
 import com.example.eventmanagement.service.TicketService;
+import com.example.eventmanagement.service.WaitlistService;
 
 @CrossOrigin
 @RestController
@@ -17,18 +23,63 @@ public class TicketController {
 	@Autowired
 	private TicketService ticketService;
 
+	@Autowired
+	private FlashSaleService flashSaleService;
+
+	@Autowired
+	private WaitlistService waitlistService;
+
 	@PostMapping("/book")
-	public ResponseStructure<Ticket> bookTicket(@RequestParam int userId, @RequestParam int eventId) {
+	public ResponseStructure<?> bookTicket(@RequestParam int userId, @RequestParam int eventId) {
+		if (flashSaleService.isFlashSale(eventId)) {
+			return flashSaleService.enqueue(userId, eventId);
+		}
 		return ticketService.bookEvent(userId, eventId);
 	}
 
+	@PostMapping("/book-batch")
+	public ResponseStructure<List<Ticket>> bookSeats(@RequestBody BatchBookingRequest request) {
+		return ticketService.bookSeats(request);
+	}
+
+	@GetMapping("/admission/{admissionId}")
+	public ResponseStructure<AdmissionResponse> getAdmission(@PathVariable String admissionId) {
+		return flashSaleService.getAdmission(admissionId);
+	}
+
 	@PostMapping("/confirm/{ticketId}")
 	public ResponseStructure<Ticket> confirmTicket(@PathVariable int ticketId) {
 		return ticketService.confirmTicket(ticketId);
 	}
 
+	@PostMapping("/cancel/{ticketId}")
+	public ResponseStructure<Ticket> cancelTicket(@PathVariable int ticketId, @RequestParam int userId) {
+		return ticketService.cancelTicket(ticketId, userId);
+	}
+
+	@PostMapping("/waitlist")
+	public ResponseStructure<WaitlistResponse> joinWaitlist(@RequestParam int userId, @RequestParam int eventId) {
+		return waitlistService.join(userId, eventId);
+	}
+
+	@GetMapping("/waitlist")
+	public ResponseStructure<WaitlistResponse> getWaitlistPosition(@RequestParam int userId, @RequestParam int eventId) {
+		return waitlistService.getPosition(userId, eventId);
+	}
+
+	@DeleteMapping("/waitlist")
+	public ResponseStructure<WaitlistResponse> leaveWaitlist(@RequestParam int userId, @RequestParam int eventId) {
+		return waitlistService.leave(userId, eventId);
+	}
+
 	@GetMapping("/user/{userId}")
 	public ResponseStructure<List<Ticket>> getUserTickets(@PathVariable int userId) {
 		return ticketService.getUserTickets(userId);
 	}
+
+	@GetMapping("/user/{userId}/page")
+	public ResponseStructure<CursorPage<Ticket>> getUserTicketsPage(@PathVariable int userId,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+		return ticketService.getUserTicketsPage(userId, cursor, size);
+	}
 }
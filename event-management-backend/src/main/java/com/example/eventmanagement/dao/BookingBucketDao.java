@@ -0,0 +1,44 @@
+package com.example.eventmanagement.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.example.eventmanagement.model.BookingBucket;
+import com.example.eventmanagement.repository.BookingBucketRepository;
+import com.example.eventmanagement.util.SeriesGranularity;
+
+@Repository
+public class BookingBucketDao {
+
+    @Autowired
+    private BookingBucketRepository repository;
+
+    public List<BookingBucket> findSeries(int eventId, SeriesGranularity granularity, LocalDateTime from,
+                                          LocalDateTime to) {
+        return repository.findSeries(eventId, granularity, from, to);
+    }
+
+    public void addToBuckets(int eventId, LocalDateTime bookingTime, long bookings, double revenue) {
+        if (bookingTime == null) {
+            return;
+        }
+        repository.upsert(eventId, SeriesGranularity.MINUTE.truncate(bookingTime),
+                SeriesGranularity.HOUR.truncate(bookingTime), SeriesGranularity.DAY.truncate(bookingTime),
+                bookings, revenue);
+    }
+
+    public void deleteByEvent(int eventId) {
+        repository.deleteByEvent(eventId);
+    }
+
+    public void deleteAllBuckets() {
+        repository.deleteAllBuckets();
+    }
+
+    public int rebuildAll() {
+        return repository.rebuildAll();
+    }
+}
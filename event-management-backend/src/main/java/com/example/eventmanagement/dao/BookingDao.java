@@ -1,11 +1,16 @@
 package com.example.eventmanagement.dao;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import com.example.eventmanagement.dto.AttendeeRow;
 import com.example.eventmanagement.util.PaymentStatus;
 import com.example.eventmanagement.model.Booking;
 import com.example.eventmanagement.repository.BookingRepository;
@@ -34,6 +39,22 @@ public class BookingDao {
         return bookingRepository.findByUser_UserId(userId);
     }
 
+    public Optional<Booking> findByUserAndEvent(int userId, int eventId) {
+        return bookingRepository.findByUser_UserIdAndEvent_EventId(userId, eventId);
+    }
+
+    public List<Booking> findByUserAndEvents(int userId, Collection<Integer> eventIds) {
+        return bookingRepository.findByUser_UserIdAndEvent_EventIdIn(userId, eventIds);
+    }
+
+    public List<Booking> findByEventAndUsers(int eventId, Collection<Integer> userIds) {
+        return bookingRepository.findByEvent_EventIdAndUser_UserIdIn(eventId, userIds);
+    }
+
+    public List<Booking> saveBookings(List<Booking> bookings) {
+        return bookingRepository.saveAll(bookings);
+    }
+
     public List<Booking> findBookingsByEvent(int eventId) {
         return bookingRepository.findBookingsByEvent(eventId);
     }
@@ -46,6 +67,23 @@ public class BookingDao {
         return bookingRepository.countBookingsForEvent(eventId);
     }
 
+    public List<Booking> findRecentBookingsByEvent(int eventId, int limit) {
+        return bookingRepository.findRecentBookingsByEvent(eventId, Limit.of(limit));
+    }
+
+    // Must be consumed and closed inside a transaction
+    public Stream<AttendeeRow> streamAttendees(int eventId) {
+        return bookingRepository.streamAttendees(eventId);
+    }
+
+    public List<Object[]> findPendingHolds() {
+        return bookingRepository.findPendingHolds();
+    }
+
+    public int expireHolds(Collection<Integer> bookingIds, int seats) {
+        return bookingRepository.expireHolds(bookingIds, seats, LocalDateTime.now());
+    }
+
     public void deleteBooking(Booking booking) {
         bookingRepository.delete(booking);
     }
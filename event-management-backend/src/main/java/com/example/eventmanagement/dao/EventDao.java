@@ -1,15 +1,22 @@
 package com.example.eventmanagement.dao;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import com.example.eventmanagement.dto.EventCounts;
+import com.example.eventmanagement.dto.EventSummary;
 import com.example.eventmanagement.model.Event;
 import com.example.eventmanagement.repository.EventRepository;
 import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.EventStatus;
 
 @Repository
 public class EventDao {
@@ -21,40 +28,148 @@ public class EventDao {
         return eventRepository.save(event);
     }
 
+    public long countEvents() {
+        return eventRepository.count();
+    }
+
     public Optional<Event> findEventById(int eventId) {
         return eventRepository.findById(eventId);
     }
 
+    public List<Event> findEventsByIds(Collection<Integer> eventIds) {
+        return eventRepository.findAllById(eventIds);
+    }
+
     public Optional<Event> findEventByIdAndCreator(int eventId, int userId) {
         return eventRepository.findEventByIdAndCreator(eventId, userId);
     }
 
-    public List<Event> findEventsByCreator(int userId) {
-        return eventRepository.findEventsByCreator(userId);
+    public List<Event> findEventsByCreator(int userId, int limit) {
+        return eventRepository.findEventsByCreator(userId, Limit.of(limit));
+    }
+
+    public EventCounts countEventsByCreator(int userId) {
+        return eventRepository.countEventsByCreator(userId);
+    }
+
+    public List<Event> findRecentEventsByCreator(int userId, int limit) {
+        return eventRepository.findRecentEventsByCreator(userId, Limit.of(limit));
+    }
+
+    public List<Event> findUpcomingEvents(int limit) {
+        return eventRepository.findUpcomingEvents(Limit.of(limit));
+    }
+
+    public int markCompleted(LocalDate today) {
+        return eventRepository.markCompleted(today);
+    }
+
+    public int markOngoing(LocalDate today) {
+        return eventRepository.markOngoing(today);
     }
 
-    public List<Event> findUpcomingEvents() {
-        return eventRepository.findUpcomingEvents(LocalDate.now());
+    public int markUpcoming(LocalDate today) {
+        return eventRepository.markUpcoming(today);
     }
 
     public List<Event> searchEvents(String keyword) {
         return eventRepository.searchByEventName(keyword);
     }
 
-    public List<Event> findPublicEvents() {
-        return eventRepository.findPublicEventsOrderByDate();
+    public List<Event> findPublicEvents(int limit) {
+        return eventRepository.findPublicEventsOrderByDate(Limit.of(limit));
+    }
+
+    public List<Object[]> findPublicEventTexts() {
+        return eventRepository.findPublicEventTexts();
+    }
+
+    public List<Object[]> findPublicEventPhrases() {
+        return eventRepository.findPublicEventPhrases();
+    }
+
+    public List<Object[]> findPublicEventFacets(LocalDate today) {
+        return eventRepository.findPublicEventFacets(today);
     }
 
-    public List<Event> searchPublicEvents(String keyword) {
-        return eventRepository.searchPublicEvents(keyword);
+    public List<EventSummary> findEventSummariesByIds(Collection<Integer> eventIds) {
+        return eventRepository.findEventSummariesByIds(eventIds);
     }
 
     public List<Event> findEventsWithFilters(LocalDate startDate, LocalDate endDate, EventCategory category) {
         return eventRepository.findEventsWithFilters(startDate, endDate, category);
     }
 
-    public List<Event> findEventsByCategory(EventCategory category) {
-        return eventRepository.findByEventCategory(category);
+    public List<Event> findEventsByCategory(EventCategory category, int limit) {
+        return eventRepository.findEventsByCategory(category, Limit.of(limit));
+    }
+
+    public List<EventSummary> findUpcomingEventsPage(int limit) {
+        return eventRepository.findUpcomingEventsPage(Limit.of(limit));
+    }
+
+    public List<EventSummary> findUpcomingEventsAfter(LocalDate eventDate, int eventId, int limit) {
+        return eventRepository.findUpcomingEventsAfter(eventDate, eventId, Limit.of(limit));
+    }
+
+    public List<EventSummary> findPublicEventsPage(int limit) {
+        return eventRepository.findPublicEventsPage(Limit.of(limit));
+    }
+
+    public List<EventSummary> findPublicEventsAfter(LocalDate eventDate, int eventId, int limit) {
+        return eventRepository.findPublicEventsAfter(eventDate, eventId, Limit.of(limit));
+    }
+
+    public List<EventSummary> findEventsByCategoryPage(EventCategory category, int limit) {
+        return eventRepository.findEventsByCategoryPage(category, Limit.of(limit));
+    }
+
+    public List<EventSummary> findEventsByCategoryAfter(EventCategory category, LocalDate eventDate, int eventId, int limit) {
+        return eventRepository.findEventsByCategoryAfter(category, eventDate, eventId, Limit.of(limit));
+    }
+
+    public List<EventSummary> findEventsByCreatorPage(int userId, int limit) {
+        return eventRepository.findEventsByCreatorPage(userId, Limit.of(limit));
+    }
+
+    public List<EventSummary> findEventsByCreatorAfter(int userId, LocalDate eventDate, int eventId, int limit) {
+        return eventRepository.findEventsByCreatorAfter(userId, eventDate, eventId, Limit.of(limit));
+    }
+
+    public boolean isFlashSale(int eventId) {
+        return eventRepository.findFlashSaleFlag(eventId).orElse(false);
+    }
+
+    public Map<Integer, EventStatus> findEventStatuses(Collection<Integer> eventIds) {
+        Map<Integer, EventStatus> statuses = new HashMap<>();
+        for (Object[] row : eventRepository.findEventStatuses(eventIds)) {
+            statuses.put((Integer) row[0], (EventStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    public Optional<Integer> findRemainingSeats(int eventId) {
+        return eventRepository.findRemainingSeats(eventId);
+    }
+
+    public boolean holdSeats(int eventId, int seats) {
+        return eventRepository.holdSeats(eventId, seats) == 1;
+    }
+
+    public boolean convertHeldSeats(int eventId, int seats) {
+        return eventRepository.convertHeldSeats(eventId, seats) == 1;
+    }
+
+    public boolean sellSeats(int eventId, int seats) {
+        return eventRepository.sellSeats(eventId, seats) == 1;
+    }
+
+    public boolean releaseHeldSeats(int eventId, int seats) {
+        return eventRepository.releaseHeldSeats(eventId, seats) == 1;
+    }
+
+    public boolean releaseSoldSeats(int eventId, int seats) {
+        return eventRepository.releaseSoldSeats(eventId, seats) == 1;
     }
 
     public void deleteEvent(Event event) {
@@ -0,0 +1,53 @@
+package com.example.eventmanagement.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.example.eventmanagement.model.EventStats;
+import com.example.eventmanagement.repository.EventStatsRepository;
+
+@Repository
+public class EventStatsDao {
+
+    @Autowired
+    private EventStatsRepository repository;
+
+    public EventStats saveStats(EventStats stats) {
+        return repository.save(stats);
+    }
+
+    public Optional<EventStats> findByEventId(int eventId) {
+        return repository.findById(eventId);
+    }
+
+    public List<EventStats> findByOrganizer(int organizerId) {
+        return repository.findByOrganizerId(organizerId);
+    }
+
+    public Optional<Integer> findOrganizerId(int eventId) {
+        return repository.findOrganizerId(eventId);
+    }
+
+    public long countStats() {
+        return repository.count();
+    }
+
+    public boolean applyDelta(int eventId, long total, long confirmed, long pending, double revenue) {
+        return repository.applyDelta(eventId, total, confirmed, pending, revenue) == 1;
+    }
+
+    public void deleteStats(int eventId) {
+        repository.deleteStats(eventId);
+    }
+
+    public void deleteAllStats() {
+        repository.deleteAllStats();
+    }
+
+    public int rebuildAll() {
+        return repository.rebuildAll();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.eventmanagement.dao;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.example.eventmanagement.model.IdempotencyRecord;
+import com.example.eventmanagement.repository.IdempotencyRecordRepository;
+
+@Repository
+public class IdempotencyRecordDao {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    public Optional<IdempotencyRecord> findByKey(String idempotencyKey) {
+        return repository.findById(idempotencyKey);
+    }
+
+    public boolean insertPending(String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        return repository.insertPending(key, requestHash, now, expiresAt) > 0;
+    }
+
+    public boolean reclaim(String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        return repository.reclaim(key, requestHash, now, expiresAt) > 0;
+    }
+
+    public boolean complete(String key, String requestHash, int statusCode, String contentType, byte[] body,
+                            LocalDateTime expiresAt) {
+        return repository.complete(key, requestHash, statusCode, contentType, body, expiresAt) > 0;
+    }
+
+    public boolean deletePending(String key, String requestHash) {
+        return repository.deletePending(key, requestHash) > 0;
+    }
+
+    public int deleteExpired() {
+        return repository.deleteExpired(LocalDateTime.now());
+    }
+}
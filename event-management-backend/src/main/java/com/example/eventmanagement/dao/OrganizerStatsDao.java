@@ -0,0 +1,40 @@
+package com.example.eventmanagement.dao;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.example.eventmanagement.model.OrganizerStats;
+import com.example.eventmanagement.repository.OrganizerStatsRepository;
+
+@Repository
+public class OrganizerStatsDao {
+
+    @Autowired
+    private OrganizerStatsRepository repository;
+
+    public OrganizerStats saveStats(OrganizerStats stats) {
+        return repository.save(stats);
+    }
+
+    public Optional<OrganizerStats> findByOrganizerId(int organizerId) {
+        return repository.findById(organizerId);
+    }
+
+    public boolean existsByOrganizerId(int organizerId) {
+        return repository.existsById(organizerId);
+    }
+
+    public void applyDelta(int organizerId, long total, long confirmed, long pending, double revenue) {
+        repository.applyDelta(organizerId, total, confirmed, pending, revenue);
+    }
+
+    public void deleteAllStats() {
+        repository.deleteAllStats();
+    }
+
+    public int rebuildAll() {
+        return repository.rebuildAll();
+    }
+}
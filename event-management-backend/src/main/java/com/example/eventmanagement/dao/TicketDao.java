@@ -2,11 +2,15 @@ package com.example.eventmanagement.dao;
 
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 
 import org.springframework.stereotype.Repository;
 
@@ -34,7 +38,9 @@ public class TicketDao {
 
     public Ticket saveTicket(Ticket ticket) {
 
-        ticket.setTicketStatus(TicketStatus.ACTIVE);
+        if (ticket.getTicketStatus() == null) {
+            ticket.setTicketStatus(TicketStatus.ACTIVE);
+        }
 
         return ticketRepository.save(ticket);
 
@@ -42,7 +48,7 @@ public class TicketDao {
 
 
 
-    public Optional<Ticket> findByBookingId(int bookingId) {
+    public List<Ticket> findByBookingId(int bookingId) {
 
         return ticketRepository.findByBookingId(bookingId);
 
@@ -52,8 +58,40 @@ public class TicketDao {
         return ticketRepository.findById(ticketId);
     }
 
-    public Optional<Ticket> findByBooking_BookingId(int bookingId) {
-        return ticketRepository.findByBooking_BookingId(bookingId);
+    public List<Ticket> saveTickets(List<Ticket> tickets) {
+        tickets.stream()
+                .filter(ticket -> ticket.getTicketStatus() == null)
+                .forEach(ticket -> ticket.setTicketStatus(TicketStatus.ACTIVE));
+        return ticketRepository.saveAll(tickets);
+    }
+
+    public List<Ticket> findUserTickets(int userId) {
+        return ticketRepository.findUserTickets(userId, Limit.unlimited());
+    }
+
+    public List<Ticket> findUserTickets(int userId, int limit) {
+        return ticketRepository.findUserTickets(userId, Limit.of(limit));
+    }
+
+    public List<Ticket> findUserTicketsBefore(int userId, LocalDateTime bookingTime, int bookingId, int ticketId,
+                                              int limit) {
+        return ticketRepository.findUserTicketsBefore(userId, bookingTime, bookingId, ticketId, Limit.of(limit));
+    }
+
+    public int cancelBookedTickets(Collection<Integer> bookingIds) {
+        return ticketRepository.cancelBookedTickets(bookingIds);
+    }
+
+    public List<Object[]> findAdmissibleTickets(int eventId) {
+        return ticketRepository.findAdmissibleTickets(eventId);
+    }
+
+    public int markUsed(Collection<Integer> ticketIds) {
+        return ticketRepository.markUsed(ticketIds);
+    }
+
+    public List<Ticket> findActiveTicketsWithoutCode(int limit) {
+        return ticketRepository.findActiveTicketsWithoutCode(Limit.of(limit));
     }
 
 }
@@ -1,6 +1,8 @@
 package com.example.eventmanagement.dao;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +37,10 @@ public class UserDao {
 		return userRepository.findVerifiedUserById(userId);
 	}
 
+	public List<User> findVerifiedUsersByIds(Collection<Integer> userIds) {
+		return userRepository.findVerifiedUsersByIds(userIds);
+	}
+
 	public Optional<User> findByGoogleId(String googleId) {
 		return userRepository.findByGoogleId(googleId);
 	}
@@ -0,0 +1,37 @@
+package com.example.eventmanagement.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import com.example.eventmanagement.model.WaitlistEntry;
+import com.example.eventmanagement.repository.WaitlistEntryRepository;
+
+@Repository
+public class WaitlistEntryDao {
+
+    @Autowired
+    private WaitlistEntryRepository repository;
+
+    public WaitlistEntry saveEntry(WaitlistEntry entry) {
+        return repository.save(entry);
+    }
+
+    public Optional<WaitlistEntry> findByUserAndEvent(int userId, int eventId) {
+        return repository.findByUser_UserIdAndEvent_EventId(userId, eventId);
+    }
+
+    public List<Object[]> findAllInJoinOrder() {
+        return repository.findAllInJoinOrder();
+    }
+
+    public boolean deleteEntry(int entryId) {
+        return repository.deleteEntry(entryId) == 1;
+    }
+
+    public int deleteByEvent(int eventId) {
+        return repository.deleteByEvent(eventId);
+    }
+}
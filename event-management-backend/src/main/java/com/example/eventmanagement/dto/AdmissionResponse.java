@@ -0,0 +1,19 @@
+package com.example.eventmanagement.dto;
+
+import com.example.eventmanagement.util.AdmissionStatus;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionResponse {
+
+    private String admissionId;
+    private int eventId;
+    private AdmissionStatus status;
+    private long position;
+    private Integer ticketId;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.eventmanagement.util.PaymentStatus;
+
+import lombok.*;
+
+// One booking of an attendee export; filled by a constructor expression, so nothing ends up managed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendeeRow {
+
+    private int bookingId;
+    private int userId;
+    private String name;
+    private String email;
+    private PaymentStatus paymentStatus;
+    private int seatCount;
+    private LocalDateTime bookingTime;
+}
@@ -0,0 +1,13 @@
+package com.example.eventmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingItem {
+
+    private int eventId;
+    private int quantity;
+}
@@ -0,0 +1,15 @@
+package com.example.eventmanagement.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequest {
+
+    private int userId;
+    private List<BatchBookingItem> items;
+}
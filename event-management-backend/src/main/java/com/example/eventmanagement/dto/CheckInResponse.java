@@ -0,0 +1,19 @@
+package com.example.eventmanagement.dto;
+
+import com.example.eventmanagement.util.CheckInResult;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResponse {
+
+    private int eventId;
+    private Integer ticketId;
+    private Integer seatNumber;
+    private CheckInResult result;
+    private int checkedIn;
+    private int expected;
+}
@@ -0,0 +1,16 @@
+package com.example.eventmanagement.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
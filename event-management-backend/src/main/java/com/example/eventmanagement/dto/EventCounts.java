@@ -0,0 +1,9 @@
+package com.example.eventmanagement.dto;
+
+// Filled by an EventRepository projection
+public interface EventCounts {
+
+    long getTotal();
+
+    long getUpcoming();
+}
@@ -0,0 +1,35 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.example.eventmanagement.util.DayType;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PriceBand;
+import com.example.eventmanagement.util.PriceType;
+
+import lombok.*;
+
+// Options chosen within a facet are OR-ed, facets are AND-ed; an empty facet doesn't filter
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFacetFilter {
+
+    private List<EventCategory> category;
+    private List<PriceBand> priceBand;
+    private List<DayType> dayType;
+    private List<PriceType> priceType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private Integer page;
+    private Integer size;
+}
@@ -24,5 +24,6 @@ public class EventRequest {
     private String eventImageUrl;
     private EventCategory eventCategory;
     private PrivacySettings privacySettings;
+    private Boolean flashSale;
     private Integer creatorId;
 }
@@ -0,0 +1,26 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.example.eventmanagement.util.EventCategory;
+
+import lombok.*;
+
+// Event card for list views; filled by a constructor expression, so no Event or User is loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+
+    private int eventId;
+    private String eventName;
+    private String venue;
+    private LocalDate eventDate;
+    private LocalTime eventTime;
+    private double ticketPrice;
+    private EventCategory eventCategory;
+    private String eventImageUrl;
+    private Integer creatorId;
+    private String creatorName;
+}
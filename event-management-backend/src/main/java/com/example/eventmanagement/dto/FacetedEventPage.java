@@ -0,0 +1,28 @@
+package com.example.eventmanagement.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.eventmanagement.util.DayType;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PriceBand;
+import com.example.eventmanagement.util.PriceType;
+
+import lombok.*;
+
+// One page of matching event cards; an option's count is the matches it has under the other facets' selections
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedEventPage {
+
+    private List<EventSummary> items;
+    private int total;
+    private int page;
+    private int size;
+    private Map<EventCategory, Integer> categoryCounts;
+    private Map<PriceBand, Integer> priceBandCounts;
+    private Map<DayType, Integer> dayTypeCounts;
+    private Map<PriceType, Integer> priceTypeCounts;
+}
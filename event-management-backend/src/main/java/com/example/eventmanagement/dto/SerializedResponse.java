@@ -0,0 +1,9 @@
+package com.example.eventmanagement.dto;
+
+// A response body already encoded as UTF-8 JSON and, when worth it, gzipped; each form has its own strong ETag
+public record SerializedResponse(byte[] json, String etag, byte[] gzipped, String gzippedEtag) {
+
+    public int size() {
+        return json.length + (gzipped == null ? 0 : gzipped.length);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesPoint {
+
+    private LocalDateTime bucketStart;
+    private long bookings;
+    private double revenue;
+}
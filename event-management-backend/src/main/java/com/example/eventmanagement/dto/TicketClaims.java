@@ -0,0 +1,14 @@
+package com.example.eventmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketClaims {
+
+    private int ticketId;
+    private int eventId;
+    private int seatNumber;
+}
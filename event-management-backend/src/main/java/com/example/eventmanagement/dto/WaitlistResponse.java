@@ -0,0 +1,16 @@
+package com.example.eventmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistResponse {
+
+    private int eventId;
+    private int userId;
+    // 1 is next in line
+    private long position;
+    private String message;
+}
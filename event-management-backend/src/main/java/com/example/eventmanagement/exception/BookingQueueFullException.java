@@ -0,0 +1,8 @@
+package com.example.eventmanagement.exception;
+
+@SuppressWarnings("serial")
+public class BookingQueueFullException extends RuntimeException {
+    public BookingQueueFullException(String message) {
+        super(message);
+    }
+}
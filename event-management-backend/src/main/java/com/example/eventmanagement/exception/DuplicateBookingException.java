@@ -0,0 +1,8 @@
+package com.example.eventmanagement.exception;
+
+@SuppressWarnings("serial")
+public class DuplicateBookingException extends RuntimeException {
+    public DuplicateBookingException(String message) {
+        super(message);
+    }
+}
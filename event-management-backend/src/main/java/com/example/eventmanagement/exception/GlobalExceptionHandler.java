@@ -1,14 +1,58 @@
 package com.example.eventmanagement.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.model.Booking;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+	@ExceptionHandler(BookingQueueFullException.class)
+	public ResponseEntity<ResponseStructure<String>> handleQueueFull(BookingQueueFullException ex) {
+
+		ResponseStructure<String> response = ResponseStructure.<String>builder()
+				.statusCode(HttpStatus.TOO_MANY_REQUESTS.value()).message(ex.getMessage()).data("ERROR").build();
+
+		return new ResponseEntity<>(response, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	@ExceptionHandler(DuplicateBookingException.class)
+	public ResponseEntity<ResponseStructure<String>> handleDuplicateBooking(DuplicateBookingException ex) {
+
+		ResponseStructure<String> response = ResponseStructure.<String>builder()
+				.statusCode(HttpStatus.CONFLICT.value()).message(ex.getMessage()).data("ERROR").build();
+
+		return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<ResponseStructure<String>> handleConflict(ObjectOptimisticLockingFailureException ex) {
+
+		// Another request changed the same row first, and retrying (if any) did not get past it
+		ResponseStructure<String> response = ResponseStructure.<String>builder()
+				.statusCode(HttpStatus.CONFLICT.value())
+				.message("This record was changed by another request; reload it and try again").data("ERROR").build();
+
+		return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<ResponseStructure<String>> handleDataIntegrity(DataIntegrityViolationException ex) {
+
+		// Two racing requests for the same user and event both passed the duplicate check
+		String cause = ex.getMostSpecificCause().getMessage();
+		if (cause != null && cause.contains(Booking.USER_EVENT_CONSTRAINT)) {
+			return handleDuplicateBooking(new DuplicateBookingException("You have already booked this event"));
+		}
+
+		return handleRuntime(ex);
+	}
+
 	@ExceptionHandler(RuntimeException.class)
 	public ResponseEntity<ResponseStructure<String>> handleRuntime(RuntimeException ex) {
 
@@ -2,21 +2,27 @@ package com.example.eventmanagement.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.example.eventmanagement.util.PaymentStatus;
 
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", uniqueConstraints = @UniqueConstraint(name = Booking.USER_EVENT_CONSTRAINT, columnNames = {
+		"user_id", "event_id" }))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
 
+	public static final String USER_EVENT_CONSTRAINT = "uk_bookings_user_event";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+	@SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
 	@Column(name = "booking_id")
 	private int bookingId;
 
@@ -34,4 +40,22 @@ public class Booking {
 
 	@Column(name = "booking_time")
 	private LocalDateTime bookingTime;
+
+	@Builder.Default
+	@ColumnDefault("1")
+	@Column(name = "seat_count", nullable = false)
+	private int seatCount = 1;
+
+	@Column(name = "hold_expires_at")
+	private LocalDateTime holdExpiresAt;
+
+	// Charged when the booking is confirmed; ticket prices may change afterwards
+	@Column(name = "amount_paid")
+	private Double amountPaid;
+
+	// Bulk status updates in BookingRepository bump it too
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private long version;
 }
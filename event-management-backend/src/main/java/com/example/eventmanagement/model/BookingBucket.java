@@ -0,0 +1,49 @@
+package com.example.eventmanagement.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.example.eventmanagement.util.SeriesGranularity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Bookings and revenue of one event per minute, hour and day of booking time, upserted by BookingBucketRepository
+@Entity
+@Table(name = "booking_buckets")
+@IdClass(BookingBucket.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBucket {
+
+    @Id
+    @Column(name = "event_id")
+    private int eventId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 10)
+    private SeriesGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "bookings", nullable = false)
+    private long bookings;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private int eventId;
+        private SeriesGranularity granularity;
+        private LocalDateTime bucketStart;
+    }
+}
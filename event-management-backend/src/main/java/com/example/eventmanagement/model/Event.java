@@ -7,12 +7,14 @@ import java.util.List;
 import com.example.eventmanagement.util.EventCategory;
 import com.example.eventmanagement.util.EventStatus;
 import com.example.eventmanagement.util.PrivacySettings;
+import org.hibernate.annotations.ColumnDefault;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+// Indexes are created by the migrations in db/migration
 @Table(name = "events")
 @Data
 @Builder
@@ -46,6 +48,31 @@ public class Event {
 	@Column(name = "max_attendees")
 	private Integer maxAttendees;
 
+	// Capacity counters are only moved by conditional bulk updates in EventRepository. They, the
+	// flash-sale flag and the version are bookkeeping, left out of responses so cached event JSON
+	// and its ETag only change when something shown to users does
+	@ColumnDefault("0")
+	@Column(name = "seats_sold", nullable = false, updatable = false)
+	@JsonIgnore
+	private int seatsSold;
+
+	@ColumnDefault("0")
+	@Column(name = "seats_held", nullable = false, updatable = false)
+	@JsonIgnore
+	private int seatsHeld;
+
+	@ColumnDefault("false")
+	@Column(name = "flash_sale", nullable = false)
+	@JsonIgnore
+	private boolean flashSale;
+
+	// Guards organizer edits; the seat counter updates above leave it alone
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	@JsonIgnore
+	private long version;
+
 	@Column(name = "event_image_url")
 	private String eventImageUrl;
 
@@ -57,6 +84,7 @@ public class Event {
 	@Column(name = "privacy_settings")
 	private PrivacySettings privacySettings;
 
+	// Moved along by date in bulk by EventLifecycleService
 	@Enumerated(EnumType.STRING)
 	@Column(name = "event_status")
 	private EventStatus eventStatus;
@@ -0,0 +1,33 @@
+package com.example.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Booking rollup per event, moved by bulk delta updates in EventStatsRepository
+@Entity
+@Table(name = "event_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStats {
+
+    @Id
+    @Column(name = "event_id")
+    private int eventId;
+
+    @Column(name = "organizer_id", nullable = false)
+    private int organizerId;
+
+    @Column(name = "total_bookings", nullable = false)
+    private long totalBookings;
+
+    @Column(name = "confirmed_bookings", nullable = false)
+    private long confirmedBookings;
+
+    @Column(name = "pending_bookings", nullable = false)
+    private long pendingBookings;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+}
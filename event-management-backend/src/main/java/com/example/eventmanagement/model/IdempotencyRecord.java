@@ -0,0 +1,48 @@
+package com.example.eventmanagement.model;
+
+import java.time.LocalDateTime;
+
+import com.example.eventmanagement.util.IdempotencyStatus;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // Request path and client key, e.g. "/tickets/book:3f1c..."
+    @Id
+    @Column(name = "idempotency_key", length = 150)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // PENDING while the first request runs; the response columns are set when it completes
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private IdempotencyStatus status;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // Sized for a mediumblob; a bare @Lob becomes a 255 byte tinyblob on MySQL
+    @Lob
+    @Column(name = "response_body", length = 16_777_215)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // For a PENDING claim, the time after which its request is taken to have died
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
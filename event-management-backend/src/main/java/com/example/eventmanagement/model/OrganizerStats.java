@@ -0,0 +1,30 @@
+package com.example.eventmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Booking rollup over all events of an organizer, moved together with EventStats
+@Entity
+@Table(name = "organizer_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizerStats {
+
+    @Id
+    @Column(name = "organizer_id")
+    private int organizerId;
+
+    @Column(name = "total_bookings", nullable = false)
+    private long totalBookings;
+
+    @Column(name = "confirmed_bookings", nullable = false)
+    private long confirmedBookings;
+
+    @Column(name = "pending_bookings", nullable = false)
+    private long pendingBookings;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+}
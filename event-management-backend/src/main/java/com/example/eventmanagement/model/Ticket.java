@@ -15,15 +15,24 @@ import lombok.*;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = 50)
     @Column(name = "ticket_id")
     private int ticketId;
 
-    @OneToOne
+    // A booking has one ticket per seat
+    @ManyToOne
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
+    @Column(name = "seat_number")
+    private Integer seatNumber;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "ticket_status")
     private TicketStatus ticketStatus;
+
+    // Signed token shown as the ticket's QR code, issued when the booking is paid
+    @Column(name = "ticket_code", length = 64)
+    private String ticketCode;
 }
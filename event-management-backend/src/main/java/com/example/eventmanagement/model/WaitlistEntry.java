@@ -0,0 +1,33 @@
+package com.example.eventmanagement.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_user_event", columnNames = {
+		"user_id", "event_id" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+	// Ids grow in join order, so they double as the queue position
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "entry_id")
+	private int entryId;
+
+	@ManyToOne
+	@JoinColumn(name = "user_id", nullable = false)
+	private User user;
+
+	@ManyToOne
+	@JoinColumn(name = "event_id", nullable = false)
+	private Event event;
+
+	@Column(name = "joined_at", nullable = false)
+	private LocalDateTime joinedAt;
+}
@@ -0,0 +1,60 @@
+package com.example.eventmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.eventmanagement.model.BookingBucket;
+import com.example.eventmanagement.util.SeriesGranularity;
+
+public interface BookingBucketRepository extends JpaRepository<BookingBucket, BookingBucket.Key> {
+
+    @Query("select b from BookingBucket b where b.eventId = ?1 and b.granularity = ?2 " +
+           "and b.bucketStart >= ?3 and b.bucketStart < ?4 order by b.bucketStart")
+    List<BookingBucket> findSeries(int eventId, SeriesGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    // The minute, hour and day bucket of one booking time in a single statement
+    @Modifying
+    @Transactional
+    @Query(value = "insert into booking_buckets (event_id, granularity, bucket_start, bookings, revenue) values " +
+                   "(:eventId, 'MINUTE', :minute, :bookings, :revenue), " +
+                   "(:eventId, 'HOUR', :hour, :bookings, :revenue), " +
+                   "(:eventId, 'DAY', :day, :bookings, :revenue) as new " +
+                   "on duplicate key update bookings = bookings + new.bookings, revenue = revenue + new.revenue",
+           nativeQuery = true)
+    int upsert(@Param("eventId") int eventId, @Param("minute") LocalDateTime minute, @Param("hour") LocalDateTime hour,
+               @Param("day") LocalDateTime day, @Param("bookings") long bookings, @Param("revenue") double revenue);
+
+    @Modifying
+    @Transactional
+    @Query("delete from BookingBucket b where b.eventId = ?1")
+    int deleteByEvent(int eventId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from BookingBucket")
+    int deleteAllBuckets();
+
+    // Each booking once at its latest booking time, with the amount paid for confirmed ones
+    @Modifying
+    @Transactional
+    @Query(value = "insert into booking_buckets (event_id, granularity, bucket_start, bookings, revenue) " +
+                   "select b.event_id, g.granularity, " +
+                   "case g.granularity " +
+                   "when 'MINUTE' then timestamp(date(b.booking_time)) + interval hour(b.booking_time) hour " +
+                   "+ interval minute(b.booking_time) minute " +
+                   "when 'HOUR' then timestamp(date(b.booking_time)) + interval hour(b.booking_time) hour " +
+                   "else timestamp(date(b.booking_time)) end as bucket_start, " +
+                   "count(*), coalesce(sum(case when b.payment_status = 'COMPLETED' then b.amount_paid end), 0) " +
+                   "from bookings b " +
+                   "cross join (select 'MINUTE' as granularity union all select 'HOUR' union all select 'DAY') g " +
+                   "where b.event_id is not null and b.booking_time is not null " +
+                   "group by b.event_id, g.granularity, bucket_start",
+           nativeQuery = true)
+    int rebuildAll();
+}
@@ -1,12 +1,25 @@
 package com.example.eventmanagement.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.eventmanagement.dto.AttendeeRow;
 import com.example.eventmanagement.model.Booking;
 
+import jakarta.persistence.QueryHint;
+
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
 
     @Query("select b from Booking b where b.user.userId = ?1")
@@ -19,6 +32,39 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
 
     List<Booking> findByEvent_EventId(int eventId);
 
+    Optional<Booking> findByUser_UserIdAndEvent_EventId(int userId, int eventId);
+
+    List<Booking> findByUser_UserIdAndEvent_EventIdIn(int userId, Collection<Integer> eventIds);
+
+    List<Booking> findByEvent_EventIdAndUser_UserIdIn(int eventId, Collection<Integer> userIds);
+
     @Query("select count(b) from Booking b where b.event.eventId = ?1")
     long countBookingsForEvent(int eventId);
+
+    @Query("select b from Booking b join fetch b.user join fetch b.event where b.event.eventId = ?1 " +
+           "order by b.bookingTime desc, b.bookingId desc")
+    List<Booking> findRecentBookingsByEvent(int eventId, Limit limit);
+
+    // Integer.MIN_VALUE makes Connector/J stream the rows one at a time instead of buffering the
+    // result; the connection runs nothing else until the stream is closed
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.eventmanagement.dto.AttendeeRow(b.bookingId, u.userId, u.name, u.email, " +
+           "b.paymentStatus, b.seatCount, b.bookingTime) from Booking b join b.user u " +
+           "where b.event.eventId = ?1 order by b.bookingId")
+    Stream<AttendeeRow> streamAttendees(int eventId);
+
+    @Query("select b.bookingId, b.event.eventId, b.seatCount, b.holdExpiresAt from Booking b " +
+           "where b.paymentStatus = 'PENDING' and b.holdExpiresAt is not null")
+    List<Object[]> findPendingHolds();
+
+    @Modifying
+    @Transactional
+    @Query("update Booking b set b.paymentStatus = 'FAILED', b.holdExpiresAt = null, b.version = b.version + 1 " +
+           "where b.bookingId in :bookingIds and b.seatCount = :seats and b.paymentStatus = 'PENDING' and " +
+           "b.holdExpiresAt <= :now")
+    int expireHolds(@Param("bookingIds") Collection<Integer> bookingIds, @Param("seats") int seats,
+                    @Param("now") LocalDateTime now);
 }
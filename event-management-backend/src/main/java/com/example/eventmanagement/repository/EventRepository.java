@@ -1,24 +1,43 @@
 package com.example.eventmanagement.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.eventmanagement.dto.EventCounts;
+import com.example.eventmanagement.dto.EventSummary;
 import com.example.eventmanagement.model.Event;
 import com.example.eventmanagement.util.EventCategory;
 import com.example.eventmanagement.util.PrivacySettings;
 
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
-    @Query("select e from Event e where e.creator.userId = ?1")
-    List<Event> findEventsByCreator(int userId);
+    String SELECT_SUMMARY = "select new com.example.eventmanagement.dto.EventSummary(e.eventId, e.eventName, " +
+            "e.venue, e.eventDate, e.eventTime, e.ticketPrice, e.eventCategory, e.eventImageUrl, c.userId, c.name) " +
+            "from Event e left join e.creator c ";
 
-    @Query("select e from Event e where e.eventDate >= ?1")
-    List<Event> findUpcomingEvents(LocalDate date);
+    // The unpaged listings return the first events in page order, up to the limit; the *Page queries page through all
+    @Query("select e from Event e where e.creator.userId = ?1 order by e.eventDate, e.eventId")
+    List<Event> findEventsByCreator(int userId, Limit limit);
+
+    @Query("select count(e) as total, " +
+           "coalesce(sum(case when e.eventStatus in ('UPCOMING', 'ONGOING') then 1 else 0 end), 0) as upcoming " +
+           "from Event e where e.creator.userId = ?1")
+    EventCounts countEventsByCreator(int userId);
+
+    @Query("select e from Event e where e.creator.userId = ?1 order by e.eventId desc")
+    List<Event> findRecentEventsByCreator(int userId, Limit limit);
+
+    @Query("select e from Event e where e.eventStatus in ('UPCOMING', 'ONGOING') order by e.eventDate, e.eventId")
+    List<Event> findUpcomingEvents(Limit limit);
 
     @Query("select e from Event e where lower(e.eventName) like lower(concat('%', ?1, '%'))")
     List<Event> searchByEventName(String keyword);
@@ -26,19 +45,47 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
     @Query("select e from Event e where e.eventId = ?1 and e.creator.userId = ?2")
     Optional<Event> findEventByIdAndCreator(int eventId, int userId);
 
-    List<Event> findByEventCategory(EventCategory category);
+    @Query("select e from Event e where e.eventCategory = ?1 order by e.eventDate, e.eventId")
+    List<Event> findEventsByCategory(EventCategory category, Limit limit);
 
     List<Event> findByPrivacySettings(PrivacySettings privacySettings);
 
-    @Query("select e from Event e where e.privacySettings = 'PUBLIC' and e.eventDate >= :date")
-    List<Event> findPublicUpcomingEvents(@Param("date") LocalDate date);
+    // Lifecycle moves by date window; each only picks up rows still in an earlier status, and CANCELLED stays put
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.eventStatus = 'COMPLETED' where e.eventDate < :today and " +
+           "(e.eventStatus is null or e.eventStatus in ('CREATED', 'UPDATED', 'UPCOMING', 'ONGOING'))")
+    int markCompleted(@Param("today") LocalDate today);
 
-    @Query("select e from Event e where " +
-           "(lower(e.eventName) like lower(concat('%', :keyword, '%')) or " +
-           "lower(e.description) like lower(concat('%', :keyword, '%')) or " +
-           "lower(e.venue) like lower(concat('%', :keyword, '%'))) and " +
-           "e.privacySettings = 'PUBLIC'")
-    List<Event> searchPublicEvents(@Param("keyword") String keyword);
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.eventStatus = 'ONGOING' where e.eventDate = :today and " +
+           "(e.eventStatus is null or e.eventStatus in ('CREATED', 'UPDATED', 'UPCOMING'))")
+    int markOngoing(@Param("today") LocalDate today);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.eventStatus = 'UPCOMING' where e.eventDate > :today and " +
+           "(e.eventStatus is null or e.eventStatus in ('CREATED', 'UPDATED'))")
+    int markUpcoming(@Param("today") LocalDate today);
+
+    // Searchable text of every public event, for EventSearchIndex
+    @Query("select e.eventId, e.eventName, e.venue, e.description, e.eventDate from Event e " +
+           "where e.privacySettings = 'PUBLIC'")
+    List<Object[]> findPublicEventTexts();
+
+    // Suggestion phrases and popularity of every public event, for EventSuggestIndex
+    @Query("select e.eventId, e.eventName, e.venue, e.eventCategory, e.seatsSold from Event e " +
+           "where e.privacySettings = 'PUBLIC'")
+    List<Object[]> findPublicEventPhrases();
+
+    // Facet columns of every public upcoming event, for EventFacetIndex
+    @Query("select e.eventId, e.eventDate, e.ticketPrice, e.eventCategory from Event e " +
+           "where e.privacySettings = 'PUBLIC' and e.eventDate >= :today")
+    List<Object[]> findPublicEventFacets(@Param("today") LocalDate today);
+
+    @Query(SELECT_SUMMARY + "where e.eventId in :eventIds")
+    List<EventSummary> findEventSummariesByIds(@Param("eventIds") Collection<Integer> eventIds);
 
     @Query("select e from Event e where " +
            "e.privacySettings = 'PUBLIC' and " +
@@ -48,6 +95,86 @@ public interface EventRepository extends JpaRepository<Event, Integer> {
                                       @Param("endDate") LocalDate endDate,
                                       @Param("category") EventCategory category);
 
-    @Query("select e from Event e where e.privacySettings = 'PUBLIC' order by e.eventDate asc")
-    List<Event> findPublicEventsOrderByDate();
+    @Query("select e from Event e where e.privacySettings = 'PUBLIC' order by e.eventDate, e.eventId")
+    List<Event> findPublicEventsOrderByDate(Limit limit);
+
+    // Keyset pages of event cards in (eventDate, eventId) order; the *After variants continue from a cursor
+    // Upcoming by status, as findUpcomingEvents; the lifecycle job keeps the status in step with the date
+    @Query(SELECT_SUMMARY + "where e.eventStatus in ('UPCOMING', 'ONGOING') " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findUpcomingEventsPage(Limit limit);
+
+    @Query(SELECT_SUMMARY + "where e.eventStatus in ('UPCOMING', 'ONGOING') and " +
+           "(e.eventDate > :eventDate or (e.eventDate = :eventDate and e.eventId > :eventId)) " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findUpcomingEventsAfter(@Param("eventDate") LocalDate eventDate,
+                                               @Param("eventId") int eventId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where e.privacySettings = 'PUBLIC' " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findPublicEventsPage(Limit limit);
+
+    @Query(SELECT_SUMMARY + "where e.privacySettings = 'PUBLIC' and " +
+           "(e.eventDate > :eventDate or (e.eventDate = :eventDate and e.eventId > :eventId)) " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findPublicEventsAfter(@Param("eventDate") LocalDate eventDate,
+                                             @Param("eventId") int eventId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where e.eventCategory = :category " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findEventsByCategoryPage(@Param("category") EventCategory category, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where e.eventCategory = :category and " +
+           "(e.eventDate > :eventDate or (e.eventDate = :eventDate and e.eventId > :eventId)) " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findEventsByCategoryAfter(@Param("category") EventCategory category, @Param("eventDate") LocalDate eventDate,
+                                                 @Param("eventId") int eventId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where c.userId = :userId " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findEventsByCreatorPage(@Param("userId") int userId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "where c.userId = :userId and " +
+           "(e.eventDate > :eventDate or (e.eventDate = :eventDate and e.eventId > :eventId)) " +
+           "order by e.eventDate, e.eventId")
+    List<EventSummary> findEventsByCreatorAfter(@Param("userId") int userId, @Param("eventDate") LocalDate eventDate,
+                                                @Param("eventId") int eventId, Limit limit);
+
+    @Query("select e.flashSale from Event e where e.eventId = ?1")
+    Optional<Boolean> findFlashSaleFlag(int eventId);
+
+    // Event id and status pairs; events that no longer exist have no row
+    @Query("select e.eventId, e.eventStatus from Event e where e.eventId in :eventIds")
+    List<Object[]> findEventStatuses(@Param("eventIds") Collection<Integer> eventIds);
+
+    @Query("select e.maxAttendees - e.seatsSold - e.seatsHeld from Event e where e.eventId = ?1")
+    Optional<Integer> findRemainingSeats(int eventId);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.seatsHeld = e.seatsHeld + :seats where e.eventId = :eventId and " +
+           "(e.maxAttendees is null or e.seatsSold + e.seatsHeld + :seats <= e.maxAttendees)")
+    int holdSeats(@Param("eventId") int eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.seatsHeld = e.seatsHeld - :seats, e.seatsSold = e.seatsSold + :seats " +
+           "where e.eventId = :eventId and e.seatsHeld >= :seats")
+    int convertHeldSeats(@Param("eventId") int eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.seatsSold = e.seatsSold + :seats where e.eventId = :eventId and " +
+           "(e.maxAttendees is null or e.seatsSold + e.seatsHeld + :seats <= e.maxAttendees)")
+    int sellSeats(@Param("eventId") int eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.seatsHeld = e.seatsHeld - :seats where e.eventId = :eventId and e.seatsHeld >= :seats")
+    int releaseHeldSeats(@Param("eventId") int eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.seatsSold = e.seatsSold - :seats where e.eventId = :eventId and e.seatsSold >= :seats")
+    int releaseSoldSeats(@Param("eventId") int eventId, @Param("seats") int seats);
 }
@@ -0,0 +1,49 @@
+package com.example.eventmanagement.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.eventmanagement.model.EventStats;
+
+public interface EventStatsRepository extends JpaRepository<EventStats, Integer> {
+
+    List<EventStats> findByOrganizerId(int organizerId);
+
+    @Query("select s.organizerId from EventStats s where s.eventId = ?1")
+    Optional<Integer> findOrganizerId(int eventId);
+
+    @Modifying
+    @Transactional
+    @Query("update EventStats s set s.totalBookings = s.totalBookings + :total, " +
+           "s.confirmedBookings = s.confirmedBookings + :confirmed, s.pendingBookings = s.pendingBookings + :pending, " +
+           "s.revenue = s.revenue + :revenue where s.eventId = :eventId")
+    int applyDelta(@Param("eventId") int eventId, @Param("total") long total, @Param("confirmed") long confirmed,
+                   @Param("pending") long pending, @Param("revenue") double revenue);
+
+    @Modifying
+    @Transactional
+    @Query("delete from EventStats s where s.eventId = ?1")
+    int deleteStats(int eventId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from EventStats")
+    int deleteAllStats();
+
+    @Modifying
+    @Transactional
+    @Query("insert into EventStats (eventId, organizerId, totalBookings, confirmedBookings, pendingBookings, revenue) " +
+           "select e.eventId, e.creator.userId, count(b), " +
+           "coalesce(sum(case when b.paymentStatus = 'COMPLETED' then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.paymentStatus = 'PENDING' then 1 else 0 end), 0), " +
+           "coalesce(sum(case when b.paymentStatus = 'COMPLETED' then b.amountPaid else 0 end), 0) " +
+           "from Event e left join Booking b on b.event = e where e.creator is not null " +
+           "group by e.eventId, e.creator.userId")
+    int rebuildAll();
+}
@@ -0,0 +1,52 @@
+package com.example.eventmanagement.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.eventmanagement.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // A plain insert, so of two racing claims exactly one gets the row; save() would merge into it
+    @Modifying
+    @Transactional
+    @Query(value = "insert ignore into idempotency_keys (idempotency_key, request_hash, status, created_at, expires_at) " +
+                   "values (:key, :requestHash, 'PENDING', :now, :expiresAt)",
+           nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("requestHash") String requestHash,
+                      @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Takes over a key whose response expired or whose claim was abandoned
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = 'PENDING', r.requestHash = :requestHash, r.statusCode = null, " +
+           "r.contentType = null, r.responseBody = null, r.createdAt = :now, r.expiresAt = :expiresAt " +
+           "where r.idempotencyKey = :key and r.expiresAt <= :now")
+    int reclaim(@Param("key") String key, @Param("requestHash") String requestHash,
+                @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = 'COMPLETED', r.statusCode = :statusCode, " +
+           "r.contentType = :contentType, r.responseBody = :body, r.expiresAt = :expiresAt " +
+           "where r.idempotencyKey = :key and r.status = 'PENDING' and r.requestHash = :requestHash")
+    int complete(@Param("key") String key, @Param("requestHash") String requestHash,
+                 @Param("statusCode") int statusCode, @Param("contentType") String contentType,
+                 @Param("body") byte[] body, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.status = 'PENDING' " +
+           "and r.requestHash = :requestHash")
+    int deletePending(@Param("key") String key, @Param("requestHash") String requestHash);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= ?1")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,33 @@
+package com.example.eventmanagement.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.eventmanagement.model.OrganizerStats;
+
+public interface OrganizerStatsRepository extends JpaRepository<OrganizerStats, Integer> {
+
+    @Modifying
+    @Transactional
+    @Query("update OrganizerStats o set o.totalBookings = o.totalBookings + :total, " +
+           "o.confirmedBookings = o.confirmedBookings + :confirmed, o.pendingBookings = o.pendingBookings + :pending, " +
+           "o.revenue = o.revenue + :revenue where o.organizerId = :organizerId")
+    int applyDelta(@Param("organizerId") int organizerId, @Param("total") long total,
+                   @Param("confirmed") long confirmed, @Param("pending") long pending,
+                   @Param("revenue") double revenue);
+
+    @Modifying
+    @Transactional
+    @Query("delete from OrganizerStats")
+    int deleteAllStats();
+
+    @Modifying
+    @Transactional
+    @Query("insert into OrganizerStats (organizerId, totalBookings, confirmedBookings, pendingBookings, revenue) " +
+           "select s.organizerId, sum(s.totalBookings), sum(s.confirmedBookings), sum(s.pendingBookings), " +
+           "sum(s.revenue) from EventStats s group by s.organizerId")
+    int rebuildAll();
+}
@@ -1,19 +1,58 @@
 package com.example.eventmanagement.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.eventmanagement.model.Ticket;
 
 public interface TicketRepository extends JpaRepository<Ticket, Integer> {
 
-    @Query("select t from Ticket t where t.booking.bookingId = ?1")
-    Optional<Ticket> findByBookingId(int bookingId);
-
-    Optional<Ticket> findByBooking_BookingId(int bookingId);
+    @Query("select t from Ticket t where t.booking.bookingId = ?1 order by t.ticketId")
+    List<Ticket> findByBookingId(int bookingId);
 
     @Query("select t from Ticket t where t.ticketStatus = 'ACTIVE'")
     Optional<Ticket> findActiveTickets();
+
+    @Query("select t from Ticket t join fetch t.booking b join fetch b.user join fetch b.event e " +
+           "left join fetch e.creator where b.user.userId = :userId " +
+           "order by b.bookingTime desc, b.bookingId desc, t.ticketId desc")
+    List<Ticket> findUserTickets(@Param("userId") int userId, Limit limit);
+
+    @Query("select t from Ticket t join fetch t.booking b join fetch b.user join fetch b.event e " +
+           "left join fetch e.creator where b.user.userId = :userId and " +
+           "(b.bookingTime < :bookingTime or (b.bookingTime = :bookingTime and " +
+           "(b.bookingId < :bookingId or (b.bookingId = :bookingId and t.ticketId < :ticketId)))) " +
+           "order by b.bookingTime desc, b.bookingId desc, t.ticketId desc")
+    List<Ticket> findUserTicketsBefore(@Param("userId") int userId, @Param("bookingTime") LocalDateTime bookingTime,
+                                       @Param("bookingId") int bookingId, @Param("ticketId") int ticketId,
+                                       Limit limit);
+
+    @Query("select t from Ticket t join fetch t.booking b join fetch b.event " +
+           "where t.ticketStatus = 'ACTIVE' and t.ticketCode is null order by t.ticketId")
+    List<Ticket> findActiveTicketsWithoutCode(Limit limit);
+
+    @Query("select t.ticketId, t.ticketStatus from Ticket t where t.booking.event.eventId = ?1 and " +
+           "t.ticketStatus in ('ACTIVE', 'USED') order by t.ticketId")
+    List<Object[]> findAdmissibleTickets(int eventId);
+
+    @Modifying
+    @Transactional
+    @Query("update Ticket t set t.ticketStatus = 'USED' where t.ticketId in :ticketIds and t.ticketStatus = 'ACTIVE'")
+    int markUsed(@Param("ticketIds") Collection<Integer> ticketIds);
+
+    @Modifying
+    @Transactional
+    @Query("update Ticket t set t.ticketStatus = 'CANCELLED' where t.ticketStatus = 'BOOKED' and " +
+           "t.booking.bookingId in (select b.bookingId from Booking b " +
+           "where b.bookingId in :bookingIds and b.paymentStatus = 'FAILED')")
+    int cancelBookedTickets(@Param("bookingIds") Collection<Integer> bookingIds);
 }
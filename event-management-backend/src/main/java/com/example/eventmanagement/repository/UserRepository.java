@@ -1,5 +1,7 @@
 package com.example.eventmanagement.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -21,6 +23,9 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("select u from User u where u.userId = ?1 and u.verified = true")
     Optional<User> findVerifiedUserById(int userId);
 
+    @Query("select u from User u where u.userId in ?1 and u.verified = true")
+    List<User> findVerifiedUsersByIds(Collection<Integer> userIds);
+
     @Query("select count(u) from User u where u.verified = true")
     long countVerifiedUsers();
 
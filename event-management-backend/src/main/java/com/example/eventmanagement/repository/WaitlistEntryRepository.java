@@ -0,0 +1,29 @@
+package com.example.eventmanagement.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.eventmanagement.model.WaitlistEntry;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Integer> {
+
+    Optional<WaitlistEntry> findByUser_UserIdAndEvent_EventId(int userId, int eventId);
+
+    @Query("select w.entryId, w.event.eventId, w.user.userId from WaitlistEntry w order by w.entryId")
+    List<Object[]> findAllInJoinOrder();
+
+    @Modifying
+    @Transactional
+    @Query("delete from WaitlistEntry w where w.entryId = ?1")
+    int deleteEntry(int entryId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from WaitlistEntry w where w.event.eventId = ?1")
+    int deleteByEvent(int eventId);
+}
@@ -0,0 +1,118 @@
+package com.example.eventmanagement.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.eventmanagement.dao.BookingDao;
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.AttendeeRow;
+import com.example.eventmanagement.util.ExportFormat;
+
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams an event's bookings to the response as CSV or NDJSON. Rows come off a forward-only
+ * cursor as unmanaged DTOs and are written as they arrive, so memory use does not grow with
+ * the number of attendees.
+ */
+@Service
+public class AttendeeExportService {
+
+    private static final String CSV_HEADER = "booking_id,user_id,name,email,payment_status,seat_count,booking_time\n";
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private BookingDao bookingDao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Checked before anything is written, so an unauthorized request still gets a normal error response
+    public StreamingResponseBody exportAttendees(int eventId, int creatorId, ExportFormat format) {
+        eventDao.findEventByIdAndCreator(eventId, creatorId)
+                .orElseThrow(() -> new RuntimeException("Unauthorized access"));
+
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                write(eventId, format, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void write(int eventId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try (Stream<AttendeeRow> rows = bookingDao.streamAttendees(eventId)) {
+            Iterator<AttendeeRow> iterator = rows.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                AttendeeRow row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                // Pushes rows to the client instead of letting the response buffer grow
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, AttendeeRow row) throws IOException {
+        writer.write(row.getBookingId() + "," + row.getUserId() + ","
+                + csvText(row.getName()) + "," + csvText(row.getEmail()) + ","
+                + row.getPaymentStatus() + "," + row.getSeatCount() + ","
+                + (row.getBookingTime() != null ? row.getBookingTime() : "") + "\n");
+    }
+
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Keeps spreadsheet apps from evaluating user-supplied text as a formula
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            value = "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
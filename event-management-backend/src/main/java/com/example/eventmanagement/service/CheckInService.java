@@ -0,0 +1,305 @@
+package com.example.eventmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.dto.CheckInResponse;
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.TicketClaims;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.util.CheckInResult;
+import com.example.eventmanagement.util.TicketStatus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opening the doors loads the event's paid ticket ids into a sorted int[] with a two-bit
+ * state per ticket beside it, scanned or revoked. A scan verifies the ticket code offline,
+ * finds the ticket by binary search and claims it with a CAS, so duplicates are rejected
+ * without the database. Admitted tickets are marked USED in batches; until then a
+ * cancellation is checked against the same state, so a ticket is either admitted or
+ * cancelled, never both.
+ */
+@Service
+@Slf4j
+public class CheckInService {
+
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final long UNSET = 0;
+    private static final long SCANNED = 1;
+    private static final long REVOKED = 2;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private TicketDao ticketDao;
+
+    @Autowired
+    private TicketTokenService ticketTokenService;
+
+    private final ConcurrentHashMap<Integer, Doors> openDoors = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Integer> pendingScans = new ConcurrentLinkedQueue<>();
+
+    public ResponseStructure<CheckInResponse> openDoors(int eventId, int creatorId) {
+        eventDao.findEventByIdAndCreator(eventId, creatorId)
+                .orElseThrow(() -> new RuntimeException("Unauthorized check-in"));
+
+        Doors doors = openDoors.computeIfAbsent(eventId, this::loadDoors);
+        return checkInResponse(eventId, doors, null, null, HttpStatus.OK, "Doors are open");
+    }
+
+    public ResponseStructure<CheckInResponse> closeDoors(int eventId, int creatorId) {
+        eventDao.findEventByIdAndCreator(eventId, creatorId)
+                .orElseThrow(() -> new RuntimeException("Unauthorized check-in"));
+
+        Doors doors = openDoors.get(eventId);
+        if (doors == null) {
+            throw new RuntimeException("Doors are not open for this event");
+        }
+        // Scanning stops first; cancellations keep checking the state until the scans are written
+        doors.closing = true;
+        flushScans();
+        openDoors.remove(eventId, doors);
+        return checkInResponse(eventId, doors, null, null, HttpStatus.OK, "Doors are closed");
+    }
+
+    public ResponseStructure<CheckInResponse> getStatus(int eventId, int creatorId) {
+        eventDao.findEventByIdAndCreator(eventId, creatorId)
+                .orElseThrow(() -> new RuntimeException("Unauthorized check-in"));
+
+        Doors doors = openDoors.get(eventId);
+        if (doors == null) {
+            throw new RuntimeException("Doors are not open for this event");
+        }
+        return checkInResponse(eventId, doors, null, null, HttpStatus.OK, "Check-in status");
+    }
+
+    public ResponseStructure<CheckInResponse> scan(int eventId, String ticketCode) {
+        Doors doors = openDoors.get(eventId);
+        if (doors == null || doors.closing) {
+            throw new RuntimeException("Doors are not open for this event");
+        }
+
+        TicketClaims claims = ticketTokenService.verify(ticketCode).orElse(null);
+        if (claims == null || claims.getEventId() != eventId) {
+            return checkInResponse(eventId, doors, null, CheckInResult.INVALID, HttpStatus.UNPROCESSABLE_CONTENT,
+                    "Invalid ticket");
+        }
+
+        CheckInResult result = doors.indexOf(claims.getTicketId()) >= 0 ? doors.claim(claims.getTicketId())
+                : admitLateTicket(eventId, doors, claims.getTicketId());
+
+        switch (result) {
+            case ADMITTED:
+                doors.checkedIn.incrementAndGet();
+                pendingScans.add(claims.getTicketId());
+                return checkInResponse(eventId, doors, claims, result, HttpStatus.OK, "Admitted");
+            case ALREADY_SCANNED:
+                return checkInResponse(eventId, doors, claims, result, HttpStatus.CONFLICT,
+                        "Ticket has already been scanned");
+            default:
+                return checkInResponse(eventId, doors, claims, result, HttpStatus.UNPROCESSABLE_CONTENT,
+                        "Ticket is not valid for this event");
+        }
+    }
+
+    // Stops the tickets from scanning, unless one of them has been admitted already. Called
+    // before a cancellation writes anything; if it then rolls back, the tickets scan again.
+    public boolean revoke(int eventId, Collection<Integer> ticketIds) {
+        Doors doors = openDoors.get(eventId);
+        if (doors == null) {
+            return true;
+        }
+        List<Integer> revoked = new ArrayList<>();
+        for (int ticketId : ticketIds) {
+            long found = doors.transition(ticketId, REVOKED);
+            if (found == SCANNED) {
+                doors.unrevoke(revoked);
+                return false;
+            }
+            if (found == UNSET) {
+                revoked.add(ticketId);
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        doors.unrevoke(revoked);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.check-in.flush-interval-ms:2000}")
+    public void flushScans() {
+        List<Integer> failed = new ArrayList<>();
+        List<Integer> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        Integer ticketId;
+        while ((ticketId = pendingScans.poll()) != null) {
+            batch.add(ticketId);
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                writeScans(batch, failed);
+                batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeScans(batch, failed);
+        }
+        // Retried on the next run
+        pendingScans.addAll(failed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScans();
+    }
+
+    private void writeScans(List<Integer> ticketIds, List<Integer> failed) {
+        try {
+            ticketDao.markUsed(ticketIds);
+        } catch (RuntimeException e) {
+            log.error("Failed to mark {} scanned tickets as used", ticketIds.size(), e);
+            failed.addAll(ticketIds);
+        }
+    }
+
+    private Doors loadDoors(int eventId) {
+        List<Object[]> rows = ticketDao.findAdmissibleTickets(eventId);
+        int[] ticketIds = new int[rows.size()];
+        for (int i = 0; i < ticketIds.length; i++) {
+            ticketIds[i] = (Integer) rows.get(i)[0];
+        }
+
+        Doors doors = new Doors(ticketIds);
+        for (int i = 0; i < ticketIds.length; i++) {
+            if (rows.get(i)[1] == TicketStatus.USED) {
+                doors.transition(ticketIds[i], SCANNED);
+                doors.checkedIn.incrementAndGet();
+            }
+        }
+        log.info("Opened doors for event {} with {} tickets", eventId, ticketIds.length);
+        return doors;
+    }
+
+    // Tickets paid after the doors opened are not in the array; rare enough to look up
+    private CheckInResult admitLateTicket(int eventId, Doors doors, int ticketId) {
+        Ticket ticket = ticketDao.findTicketById(ticketId).orElse(null);
+        if (ticket == null || ticket.getBooking().getEvent().getEventId() != eventId) {
+            return CheckInResult.INVALID;
+        }
+        if (ticket.getTicketStatus() == TicketStatus.USED) {
+            return CheckInResult.ALREADY_SCANNED;
+        }
+        if (ticket.getTicketStatus() != TicketStatus.ACTIVE) {
+            return CheckInResult.INVALID;
+        }
+        CheckInResult result = doors.claim(ticketId);
+        if (result == CheckInResult.ADMITTED) {
+            doors.expected.incrementAndGet();
+        }
+        return result;
+    }
+
+    private ResponseStructure<CheckInResponse> checkInResponse(int eventId, Doors doors, TicketClaims claims,
+            CheckInResult result, HttpStatus status, String message) {
+        CheckInResponse response = CheckInResponse.builder()
+                .eventId(eventId)
+                .ticketId(claims != null ? claims.getTicketId() : null)
+                .seatNumber(claims != null ? claims.getSeatNumber() : null)
+                .result(result)
+                .checkedIn(doors.checkedIn.get())
+                .expected(doors.expected.get())
+                .build();
+
+        return ResponseStructure.<CheckInResponse>builder()
+                .statusCode(status.value())
+                .message(message)
+                .data(response)
+                .build();
+    }
+
+    private static class Doors {
+
+        private final int[] ticketIds;
+        // Two bits per ticket, 32 tickets a word; scanned and revoked exclude each other
+        private final AtomicLongArray states;
+        // Tickets paid after the doors opened, with their state
+        private final ConcurrentHashMap<Integer, Long> lateStates = new ConcurrentHashMap<>();
+        private final AtomicInteger checkedIn = new AtomicInteger();
+        private final AtomicInteger expected;
+        private volatile boolean closing;
+
+        private Doors(int[] ticketIds) {
+            this.ticketIds = ticketIds;
+            this.states = new AtomicLongArray((ticketIds.length + 31) >>> 5);
+            this.expected = new AtomicInteger(ticketIds.length);
+        }
+
+        private int indexOf(int ticketId) {
+            return Arrays.binarySearch(ticketIds, ticketId);
+        }
+
+        private CheckInResult claim(int ticketId) {
+            long found = transition(ticketId, SCANNED);
+            if (found == UNSET) {
+                return CheckInResult.ADMITTED;
+            }
+            return found == SCANNED ? CheckInResult.ALREADY_SCANNED : CheckInResult.INVALID;
+        }
+
+        // Sets the ticket's state if it has none yet; returns the state found, UNSET if this call set it
+        private long transition(int ticketId, long state) {
+            int index = indexOf(ticketId);
+            if (index < 0) {
+                Long found = lateStates.putIfAbsent(ticketId, state);
+                return found == null ? UNSET : found;
+            }
+            int word = index >>> 5;
+            int shift = (index & 31) << 1;
+            while (true) {
+                long current = states.get(word);
+                long found = (current >>> shift) & 3;
+                if (found != UNSET) {
+                    return found;
+                }
+                if (states.compareAndSet(word, current, current | state << shift)) {
+                    return UNSET;
+                }
+            }
+        }
+
+        private void unrevoke(Collection<Integer> revokedTicketIds) {
+            for (int ticketId : revokedTicketIds) {
+                int index = indexOf(ticketId);
+                if (index < 0) {
+                    lateStates.remove(ticketId, REVOKED);
+                    continue;
+                }
+                long mask = REVOKED << ((index & 31) << 1);
+                states.getAndAccumulate(index >>> 5, mask, (word, bit) -> word & ~bit);
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.eventmanagement.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -8,19 +11,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.example.eventmanagement.dao.BookingBucketDao;
 import com.example.eventmanagement.dao.BookingDao;
 import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dao.EventStatsDao;
+import com.example.eventmanagement.dao.OrganizerStatsDao;
 import com.example.eventmanagement.dao.UserDao;
+import com.example.eventmanagement.dto.EventCounts;
 import com.example.eventmanagement.dto.ResponseStructure;
-import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.dto.SeriesPoint;
+import com.example.eventmanagement.model.BookingBucket;
 import com.example.eventmanagement.model.Event;
-import com.example.eventmanagement.model.User;
-import com.example.eventmanagement.util.EventStatus;
-import com.example.eventmanagement.util.PaymentStatus;
+import com.example.eventmanagement.model.EventStats;
+import com.example.eventmanagement.model.OrganizerStats;
+import com.example.eventmanagement.util.SeriesGranularity;
 
 @Service
 public class DashboardService {
 
+    private static final int RECENT_EVENTS = 5;
+    private static final int RECENT_BOOKINGS = 10;
+    private static final int MAX_SERIES_POINTS = 1500;
+
     @Autowired
     private EventDao eventDao;
 
@@ -30,37 +42,38 @@ public class DashboardService {
     @Autowired
     private BookingDao bookingDao;
 
-    @SuppressWarnings("unused")
+    @Autowired
+    private EventStatsDao eventStatsDao;
+
+    @Autowired
+    private OrganizerStatsDao organizerStatsDao;
+
+    @Autowired
+    private BookingBucketDao bookingBucketDao;
+
 	public ResponseStructure<Map<String, Object>> getOrganizerDashboard(int userId) {
-        User organizer = userDao.findVerifiedUserById(userId)
+        userDao.findVerifiedUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Event> events = eventDao.findEventsByCreator(userId);
-        
-        int totalEvents = events.size();
-        int upcomingEvents = (int) events.stream()
-                .filter(e -> e.getEventStatus() == EventStatus.CREATED || e.getEventStatus() == EventStatus.UPCOMING)
-                .count();
-        
-        int totalBookings = 0;
-        double totalRevenue = 0.0;
-        
-        for (Event event : events) {
-            List<Booking> bookings = bookingDao.findByEvent_EventId(event.getEventId());
-            totalBookings += bookings.size();
-            
-            totalRevenue += bookings.stream()
-                    .filter(b -> b.getPaymentStatus() == PaymentStatus.COMPLETED)
-                    .mapToDouble(b -> event.getTicketPrice())
-                    .sum();
+        EventCounts eventCounts = eventDao.countEventsByCreator(userId);
+
+        // Booking totals come from the rollups maintained by StatsService
+        OrganizerStats stats = organizerStatsDao.findByOrganizerId(userId)
+                .orElseGet(() -> OrganizerStats.builder().organizerId(userId).build());
+        Map<Integer, Double> revenueByEvent = new HashMap<>();
+        for (EventStats eventStats : eventStatsDao.findByOrganizer(userId)) {
+            if (eventStats.getConfirmedBookings() > 0) {
+                revenueByEvent.put(eventStats.getEventId(), eventStats.getRevenue());
+            }
         }
 
         Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("totalEvents", totalEvents);
-        dashboard.put("upcomingEvents", upcomingEvents);
-        dashboard.put("totalBookings", totalBookings);
-        dashboard.put("totalRevenue", totalRevenue);
-        dashboard.put("recentEvents", events.stream().limit(5).toList());
+        dashboard.put("totalEvents", eventCounts.getTotal());
+        dashboard.put("upcomingEvents", eventCounts.getUpcoming());
+        dashboard.put("totalBookings", stats.getTotalBookings());
+        dashboard.put("totalRevenue", stats.getRevenue());
+        dashboard.put("revenueByEvent", revenueByEvent);
+        dashboard.put("recentEvents", eventDao.findRecentEventsByCreator(userId, RECENT_EVENTS));
 
         return ResponseStructure.<Map<String, Object>>builder()
                 .statusCode(HttpStatus.OK.value())
@@ -79,22 +92,16 @@ public class DashboardService {
             throw new RuntimeException("Unauthorized access");
         }
 
-        List<Booking> bookings = bookingDao.findByEvent_EventId(eventId);
-        
+        EventStats stats = eventStatsDao.findByEventId(eventId)
+                .orElseGet(() -> EventStats.builder().eventId(eventId).organizerId(userId).build());
+
         Map<String, Object> details = new HashMap<>();
         details.put("event", event);
-        details.put("totalBookings", bookings.size());
-        details.put("confirmedBookings", bookings.stream()
-                .filter(b -> b.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .count());
-        details.put("pendingBookings", bookings.stream()
-                .filter(b -> b.getPaymentStatus() == PaymentStatus.PENDING)
-                .count());
-        details.put("revenue", bookings.stream()
-                .filter(b -> b.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .mapToDouble(b -> event.getTicketPrice())
-                .sum());
-        details.put("recentBookings", bookings.stream().limit(10).toList());
+        details.put("totalBookings", stats.getTotalBookings());
+        details.put("confirmedBookings", stats.getConfirmedBookings());
+        details.put("pendingBookings", stats.getPendingBookings());
+        details.put("revenue", stats.getRevenue());
+        details.put("recentBookings", bookingDao.findRecentBookingsByEvent(eventId, RECENT_BOOKINGS));
 
         return ResponseStructure.<Map<String, Object>>builder()
                 .statusCode(HttpStatus.OK.value())
@@ -102,4 +109,41 @@ public class DashboardService {
                 .data(details)
                 .build();
     }
+
+    public ResponseStructure<List<SeriesPoint>> getEventSeries(int eventId, int userId,
+            SeriesGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+        eventDao.findEventByIdAndCreator(eventId, userId)
+                .orElseThrow(() -> new RuntimeException("Unauthorized access"));
+
+        LocalDateTime end = granularity.truncate(to != null ? to : LocalDateTime.now());
+        LocalDateTime start = granularity.truncate(from != null ? from : end.minus(granularity.getDefaultRange()));
+        if (start.isAfter(end)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (granularity.bucketsBetween(start, end) > MAX_SERIES_POINTS) {
+            throw new RuntimeException("At most " + MAX_SERIES_POINTS + " points can be fetched at once");
+        }
+
+        // Stored buckets only exist where something was booked; the gaps are filled with zeros
+        Iterator<BookingBucket> buckets = bookingBucketDao
+                .findSeries(eventId, granularity, start, granularity.next(end)).iterator();
+        BookingBucket bucket = buckets.hasNext() ? buckets.next() : null;
+        List<SeriesPoint> series = new ArrayList<>();
+        for (LocalDateTime time = start; !time.isAfter(end); time = granularity.next(time)) {
+            if (bucket != null && bucket.getBucketStart().equals(time)) {
+                series.add(SeriesPoint.builder().bucketStart(time).bookings(bucket.getBookings())
+                        .revenue(bucket.getRevenue()).build());
+                bucket = buckets.hasNext() ? buckets.next() : null;
+            } else {
+                series.add(SeriesPoint.builder().bucketStart(time).build());
+            }
+        }
+
+        return ResponseStructure.<List<SeriesPoint>>builder()
+                .statusCode(HttpStatus.OK.value())
+                .message("Booking series retrieved")
+                .data(series)
+                .build();
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.eventmanagement.service;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -14,10 +16,19 @@ public class EmailService {
     private JavaMailSender mailSender;
 
     public void sendMail(EmailConfiguration config) {
+        mailSender.send(toMessage(config));
+    }
+
+    // Sent over one SMTP connection
+    public void sendMails(List<EmailConfiguration> configs) {
+        mailSender.send(configs.stream().map(this::toMessage).toArray(SimpleMailMessage[]::new));
+    }
+
+    private SimpleMailMessage toMessage(EmailConfiguration config) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(config.getTo());
         message.setSubject(config.getSubject());
         message.setText(config.getBody());
-        mailSender.send(message);
+        return message;
     }
 }
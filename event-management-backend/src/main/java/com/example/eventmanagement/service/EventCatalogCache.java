@@ -0,0 +1,129 @@
+package com.example.eventmanagement.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.SerializedResponse;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PrivacySettings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caches the public catalog responses, already serialized by ResponseSerializer: all
+ * public events, events by category and filtered public events. Entries are weighed by
+ * their bytes and expire after app.catalog-cache.ttl-seconds, which also bounds how stale
+ * seat counts can get. Event edits drop only the entries the old or new version of the
+ * event could appear in.
+ */
+@Service
+public class EventCatalogCache {
+
+    @Value("${app.catalog-cache.max-megabytes:64}")
+    private long maxMegabytes;
+
+    @Value("${app.catalog-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private ResponseSerializer responseSerializer;
+
+    private Cache<CatalogKey, SerializedResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxMegabytes * 1024 * 1024)
+                .weigher((CatalogKey key, SerializedResponse response) -> response.size())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public SerializedResponse getPublicEvents(Supplier<ResponseStructure<List<Event>>> loader) {
+        return get(new CatalogKey(Listing.PUBLIC, null, null, null), loader);
+    }
+
+    public SerializedResponse getEventsByCategory(EventCategory category,
+                                                  Supplier<ResponseStructure<List<Event>>> loader) {
+        return get(new CatalogKey(Listing.CATEGORY, category, null, null), loader);
+    }
+
+    public SerializedResponse getEventsWithFilters(LocalDate startDate, LocalDate endDate, EventCategory category,
+                                                   Supplier<ResponseStructure<List<Event>>> loader) {
+        return get(new CatalogKey(Listing.FILTER, category, startDate, endDate), loader);
+    }
+
+    private SerializedResponse get(CatalogKey key, Supplier<ResponseStructure<List<Event>>> loader) {
+        return cache.get(key, k -> responseSerializer.serialize(loader.get()));
+    }
+
+    // Taken before an edit, so the listings the event is leaving are dropped too
+    public static CatalogEntry entryOf(Event event) {
+        return new CatalogEntry(event.getPrivacySettings(), event.getEventCategory(), event.getEventDate());
+    }
+
+    public void invalidate(CatalogEntry... entries) {
+        cache.asMap().keySet().removeIf(key -> {
+            for (CatalogEntry entry : entries) {
+                if (key.lists(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("bytes", cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    private enum Listing {
+        PUBLIC, CATEGORY, FILTER
+    }
+
+    public record CatalogEntry(PrivacySettings privacySettings, EventCategory eventCategory, LocalDate eventDate) {
+    }
+
+    private record CatalogKey(Listing listing, EventCategory category, LocalDate startDate, LocalDate endDate) {
+
+        // Mirrors the where clauses of the EventRepository queries behind each listing
+        private boolean lists(CatalogEntry entry) {
+            boolean isPublic = entry.privacySettings() == PrivacySettings.PUBLIC;
+            return switch (listing) {
+                case PUBLIC -> isPublic;
+                case CATEGORY -> category == entry.eventCategory();
+                case FILTER -> isPublic
+                        && (category == null || category == entry.eventCategory())
+                        && (startDate == null || entry.eventDate() == null || !entry.eventDate().isBefore(startDate))
+                        && (endDate == null || entry.eventDate() == null || !entry.eventDate().isAfter(endDate));
+            };
+        }
+    }
+}
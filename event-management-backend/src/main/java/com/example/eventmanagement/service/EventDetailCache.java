@@ -0,0 +1,74 @@
+package com.example.eventmanagement.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.SerializedResponse;
+import com.example.eventmanagement.model.Event;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Read model for /events/details: the serialized response per event with a SHA-256 of
+ * its bytes as a strong ETag, so repeat views skip the database and Jackson, and a
+ * matching If-None-Match gets a 304. The bytes hold only the fields users see, so seat
+ * holds and sales leave the ETag alone. EventService drops an event's entry when it is
+ * updated or deleted; app.event-detail-cache.ttl-seconds bounds how stale the status
+ * and the creator's name can get.
+ */
+@Service
+public class EventDetailCache {
+
+    @Value("${app.event-detail-cache.max-events:10000}")
+    private long maxEvents;
+
+    @Value("${app.event-detail-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private ResponseSerializer responseSerializer;
+
+    private Cache<Integer, SerializedResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public SerializedResponse get(int eventId) {
+        return cache.get(eventId, this::load);
+    }
+
+    public void invalidate(int eventId) {
+        cache.invalidate(eventId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private SerializedResponse load(int eventId) {
+        Event event = eventDao.findEventById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        return responseSerializer.serialize(ResponseStructure.<Event>builder()
+                .statusCode(HttpStatus.OK.value())
+                .message("Event details")
+                .data(event)
+                .build());
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.eventmanagement.service;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.EventFacetFilter;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.DayType;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PriceBand;
+import com.example.eventmanagement.util.PriceType;
+import com.example.eventmanagement.util.PrivacySettings;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Columnar snapshot of public upcoming events for faceted browsing. Every event takes a
+ * slot, and every facet option keeps a bitset of its slots, so filtering is a word-by-word
+ * AND of the chosen options and an option's count is a popcount against the other facets'
+ * choices. Built at startup, rebuilt after midnight to drop past events, and kept current
+ * by EventService on every create, update and delete.
+ */
+@Service
+@Slf4j
+public class EventFacetIndex {
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    @Autowired
+    private EventDao eventDao;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Written under this and the write lock, read under the read lock
+    private Columns columns = new Columns(INITIAL_SLOTS);
+
+    public record Result(List<Integer> eventIds, int total, Map<EventCategory, Integer> categoryCounts,
+            Map<PriceBand, Integer> priceBandCounts, Map<DayType, Integer> dayTypeCounts,
+            Map<PriceType, Integer> priceTypeCounts) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.facets.rebuild-cron:0 5 0 * * *}")
+    public synchronized void rebuild() {
+        List<Object[]> rows = eventDao.findPublicEventFacets(LocalDate.now());
+        Columns built = new Columns(rows.size());
+        for (Object[] row : rows) {
+            built.put((Integer) row[0], (LocalDate) row[1], (Double) row[2], (EventCategory) row[3]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} public upcoming events for faceted browsing", rows.size());
+    }
+
+    public synchronized void index(Event event) {
+        if (event.getPrivacySettings() != PrivacySettings.PUBLIC || event.getEventDate() == null
+                || event.getEventDate().isBefore(LocalDate.now())) {
+            remove(event.getEventId());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            columns.put(event.getEventId(), event.getEventDate(), event.getTicketPrice(), event.getEventCategory());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public synchronized void remove(int eventId) {
+        lock.writeLock().lock();
+        try {
+            columns.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Matching event ids by date for the requested page, with every option's count
+    public Result browse(EventFacetFilter filter, int page, int size) {
+        long from = LocalDate.now().toEpochDay();
+        if (filter.getStartDate() != null) {
+            from = Math.max(from, filter.getStartDate().toEpochDay());
+        }
+        long to = filter.getEndDate() != null ? filter.getEndDate().toEpochDay() : Long.MAX_VALUE;
+        int[] categories = ordinals(filter.getCategory());
+        int[] priceBands = ordinals(filter.getPriceBand());
+        int[] dayTypes = ordinals(filter.getDayType());
+        int[] priceTypes = ordinals(filter.getPriceType());
+
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            int[] categoryCounts = new int[EventCategory.values().length];
+            int[] priceBandCounts = new int[PriceBand.values().length];
+            int[] dayTypeCounts = new int[DayType.values().length];
+            int[] priceTypeCounts = new int[PriceType.values().length];
+            long[] matches = new long[c.live.length];
+            int total = 0;
+
+            for (int w = 0; w < c.live.length; w++) {
+                long dated = c.dated(w, from, to);
+                if (dated == 0) {
+                    continue;
+                }
+                long category = select(c.categories, categories, w);
+                long priceBand = select(c.priceBands, priceBands, w);
+                long dayType = select(c.dayTypes, dayTypes, w);
+                long priceType = select(c.priceTypes, priceTypes, w);
+
+                // Each facet is counted against the others only, so its own options stay selectable
+                count(c.categories, w, dated & priceBand & dayType & priceType, categoryCounts);
+                count(c.priceBands, w, dated & category & dayType & priceType, priceBandCounts);
+                count(c.dayTypes, w, dated & category & priceBand & priceType, dayTypeCounts);
+                count(c.priceTypes, w, dated & category & priceBand & dayType, priceTypeCounts);
+
+                matches[w] = dated & category & priceBand & dayType & priceType;
+                total += Long.bitCount(matches[w]);
+            }
+
+            return new Result(page(c, matches, total, page, size), total,
+                    counts(EventCategory.class, categoryCounts), counts(PriceBand.class, priceBandCounts),
+                    counts(DayType.class, dayTypeCounts), counts(PriceType.class, priceTypeCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Matches ordered by event date, then id, packed into one long each; only the first
+    // skip + size are kept, in a max-heap, so a first page doesn't sort the whole catalog
+    private static List<Integer> page(Columns c, long[] matches, int total, int page, int size) {
+        long skip = (long) page * size;
+        if (skip >= total) {
+            return List.of();
+        }
+        int keep = (int) Math.min(total, skip + size);
+        long[] heap = new long[keep];
+        int n = 0;
+        for (int w = 0; w < matches.length; w++) {
+            for (long word = matches[w]; word != 0; word &= word - 1) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(word);
+                long key = (long) c.eventDays[slot] << 32 | c.eventIds[slot];
+                if (n < keep) {
+                    heap[n] = key;
+                    siftUp(heap, n++);
+                } else if (key < heap[0]) {
+                    heap[0] = key;
+                    siftDown(heap, keep);
+                }
+            }
+        }
+        Arrays.sort(heap, 0, n);
+
+        List<Integer> eventIds = new ArrayList<>(size);
+        for (int i = (int) skip; i < n; i++) {
+            eventIds.add((int) heap[i]);
+        }
+        return eventIds;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0 && heap[(i - 1) >>> 1] < heap[i]) {
+            swap(heap, i, (i - 1) >>> 1);
+            i = (i - 1) >>> 1;
+        }
+    }
+
+    private static void siftDown(long[] heap, int n) {
+        for (int i = 0, child; (child = 2 * i + 1) < n; i = child) {
+            if (child + 1 < n && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[i] >= heap[child]) {
+                return;
+            }
+            swap(heap, i, child);
+        }
+    }
+
+    private static void swap(long[] heap, int i, int j) {
+        long key = heap[i];
+        heap[i] = heap[j];
+        heap[j] = key;
+    }
+
+    // Slots of any chosen option, or every slot when the facet has no choice
+    private static long select(long[][] facet, int[] options, int w) {
+        if (options == null) {
+            return -1L;
+        }
+        long word = 0;
+        for (int option : options) {
+            word |= facet[option][w];
+        }
+        return word;
+    }
+
+    private static void count(long[][] facet, int w, long mask, int[] counts) {
+        if (mask == 0) {
+            return;
+        }
+        for (int option = 0; option < facet.length; option++) {
+            counts[option] += Long.bitCount(facet[option][w] & mask);
+        }
+    }
+
+    private static int[] ordinals(List<? extends Enum<?>> options) {
+        if (options == null || options.isEmpty()) {
+            return null;
+        }
+        return options.stream().mapToInt(Enum::ordinal).distinct().toArray();
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> counts(Class<E> type, int[] counts) {
+        Map<E, Integer> byOption = new EnumMap<>(type);
+        for (E option : type.getEnumConstants()) {
+            byOption.put(option, counts[option.ordinal()]);
+        }
+        return byOption;
+    }
+
+    // Slot i is bit i & 63 of word i >>> 6 in every bitset; freed slots are reused first
+    private static final class Columns {
+
+        private int[] eventIds;
+        private int[] eventDays;
+        private long[] live;
+        private final long[][] categories = new long[EventCategory.values().length][];
+        private final long[][] priceBands = new long[PriceBand.values().length][];
+        private final long[][] dayTypes = new long[DayType.values().length][];
+        private final long[][] priceTypes = new long[PriceType.values().length][];
+        private final Map<Integer, Integer> slots = new HashMap<>();
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        private int used;
+
+        private Columns(int capacity) {
+            resize(Math.max(1, (capacity + 63) >>> 6));
+        }
+
+        private void put(int eventId, LocalDate eventDate, double ticketPrice, EventCategory category) {
+            remove(eventId);
+            Integer free = freeSlots.poll();
+            int slot = free != null ? free : used++;
+            if (slot >= eventIds.length) {
+                resize(live.length * 2);
+            }
+
+            eventIds[slot] = eventId;
+            eventDays[slot] = (int) eventDate.toEpochDay();
+            set(live, slot);
+            if (category != null) {
+                set(categories[category.ordinal()], slot);
+            }
+            set(priceBands[PriceBand.of(ticketPrice).ordinal()], slot);
+            set(dayTypes[DayType.of(eventDate).ordinal()], slot);
+            set(priceTypes[PriceType.of(ticketPrice).ordinal()], slot);
+            slots.put(eventId, slot);
+        }
+
+        private void remove(int eventId) {
+            Integer slot = slots.remove(eventId);
+            if (slot == null) {
+                return;
+            }
+            long keep = ~(1L << slot);
+            int w = slot >>> 6;
+            live[w] &= keep;
+            for (long[][] facet : List.of(categories, priceBands, dayTypes, priceTypes)) {
+                for (long[] bits : facet) {
+                    bits[w] &= keep;
+                }
+            }
+            freeSlots.push(slot);
+        }
+
+        // Live slots of word w dated within [from, to]
+        private long dated(int w, long from, long to) {
+            long kept = live[w];
+            for (long word = kept; word != 0; word &= word - 1) {
+                int bit = Long.numberOfTrailingZeros(word);
+                int day = eventDays[(w << 6) + bit];
+                if (day < from || day > to) {
+                    kept &= ~(1L << bit);
+                }
+            }
+            return kept;
+        }
+
+        private void resize(int words) {
+            eventIds = eventIds == null ? new int[words << 6] : Arrays.copyOf(eventIds, words << 6);
+            eventDays = eventDays == null ? new int[words << 6] : Arrays.copyOf(eventDays, words << 6);
+            live = live == null ? new long[words] : Arrays.copyOf(live, words);
+            for (long[][] facet : List.of(categories, priceBands, dayTypes, priceTypes)) {
+                for (int option = 0; option < facet.length; option++) {
+                    facet[option] = facet[option] == null ? new long[words] : Arrays.copyOf(facet[option], words);
+                }
+            }
+        }
+
+        private static void set(long[] bits, int slot) {
+            bits[slot >>> 6] |= 1L << slot;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.eventmanagement.service;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves events through UPCOMING, ONGOING and COMPLETED by event date, one bulk update per
+ * date window, so listings and dashboard counts can filter on the indexed event_status
+ * column. Runs at startup to catch up and again when the day changes; cancelled events
+ * are left alone. The bulk updates bypass the per-event hooks, so any change drops the
+ * cached catalog and detail responses and reindexes the facets.
+ */
+@Service
+@Slf4j
+public class EventLifecycleService {
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private EventCatalogCache eventCatalogCache;
+
+    @Autowired
+    private EventDetailCache eventDetailCache;
+
+    @Autowired
+    private EventFacetIndex eventFacetIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.events.lifecycle-cron:0 0 0 * * *}")
+    public void advanceStatuses() {
+        LocalDate today = LocalDate.now();
+        int completed = eventDao.markCompleted(today);
+        int ongoing = eventDao.markOngoing(today);
+        int upcoming = eventDao.markUpcoming(today);
+        log.info("Event lifecycle for {}: {} completed, {} ongoing, {} upcoming", today, completed, ongoing, upcoming);
+
+        if (completed + ongoing + upcoming > 0) {
+            eventCatalogCache.invalidateAll();
+            eventDetailCache.invalidateAll();
+            eventFacetIndex.rebuild();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.eventmanagement.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.PrivacySettings;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index over the name, venue and description of public events. Terms are kept
+ * sorted so every query word also matches as a prefix; exact words and name matches rank
+ * higher, ties go to the next upcoming event. Posting lists are sorted id arrays, replaced
+ * on write, so searches never lock. Built at startup and updated by EventService on every
+ * create, update and delete; a rebuild swaps in a complete new index, so searches running
+ * meanwhile still see the old one.
+ */
+@Service
+@Slf4j
+public class EventSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int VENUE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final long MAX_SCORE = (1 << 11) - 1;
+    private static final long PAST_DATE_RANK = 1_000_000;
+    private static final long MAX_DATE_RANK = (1 << 21) - 1;
+
+    @Autowired
+    private EventDao eventDao;
+
+    // Replaced whole by a rebuild; its maps are changed in place by writers, guarded by this
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+
+    // Built off to the side in one pass; adding events one by one would copy the long posting lists over and over
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, Map<Integer, Integer>> built = new HashMap<>();
+        Map<Integer, IndexedEvent> indexed = new HashMap<>();
+        for (Object[] row : eventDao.findPublicEventTexts()) {
+            int eventId = (Integer) row[0];
+            Map<String, Integer> weights = weigh((String) row[1], (String) row[2], (String) row[3]);
+            weights.forEach((term, weight) -> built.computeIfAbsent(term, t -> new HashMap<>()).put(eventId, weight));
+            indexed.put(eventId, new IndexedEvent((LocalDate) row[4], Set.copyOf(weights.keySet())));
+        }
+
+        ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+        built.forEach((term, weights) -> postings.put(term, Postings.of(weights)));
+        snapshot = new Snapshot(postings, new ConcurrentHashMap<>(indexed));
+        log.info("Indexed {} public events for search", indexed.size());
+    }
+
+    public void index(Event event) {
+        if (event.getPrivacySettings() != PrivacySettings.PUBLIC) {
+            remove(event.getEventId());
+            return;
+        }
+        add(event.getEventId(), event.getEventName(), event.getVenue(), event.getDescription(), event.getEventDate());
+    }
+
+    public synchronized void remove(int eventId) {
+        Snapshot current = snapshot;
+        IndexedEvent indexed = current.events().remove(eventId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            current.postings().computeIfPresent(term, (t, list) -> list.without(eventId));
+        }
+    }
+
+    private synchronized void add(int eventId, String name, String venue, String description, LocalDate eventDate) {
+        remove(eventId);
+        Snapshot current = snapshot;
+        Map<String, Integer> weights = weigh(name, venue, description);
+        weights.forEach((term, weight) -> current.postings().merge(term, Postings.of(Map.of(eventId, weight)),
+                (list, single) -> list.with(eventId, weight)));
+        current.events().put(eventId, new IndexedEvent(eventDate, Set.copyOf(weights.keySet())));
+    }
+
+    private static Map<String, Integer> weigh(String name, String venue, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(venue).forEach(term -> weights.merge(term, VENUE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    // Event ids of the best matches first; every word of the query has to match
+    public List<Integer> search(String query, int limit) {
+        Snapshot current = snapshot;
+        List<Postings> hits = new ArrayList<>();
+        for (String word : tokenize(query)) {
+            Postings hit = match(current.postings(), word);
+            if (hit.eventIds().length == 0) {
+                return List.of();
+            }
+            hits.add(hit);
+        }
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Smallest lists first keeps the running intersection short
+        hits.sort(Comparator.comparingInt(hit -> hit.eventIds().length));
+        Postings result = hits.get(0);
+        for (int i = 1; i < hits.size() && result.eventIds().length > 0; i++) {
+            result = result.intersect(hits.get(i));
+        }
+
+        // Sorted as score (descending), date rank, event id packed into one long
+        long today = LocalDate.now().toEpochDay();
+        long[] ranked = new long[result.eventIds().length];
+        for (int i = 0; i < ranked.length; i++) {
+            int eventId = result.eventIds()[i];
+            long score = Math.min(result.weights()[i], MAX_SCORE);
+            ranked[i] = (MAX_SCORE - score) << 52 | dateRank(current.events().get(eventId), today) << 31 | eventId;
+        }
+        Arrays.sort(ranked);
+
+        List<Integer> eventIds = new ArrayList<>(Math.min(limit, ranked.length));
+        for (int i = 0; i < ranked.length && i < limit; i++) {
+            eventIds.add((int) (ranked[i] & Integer.MAX_VALUE));
+        }
+        return eventIds;
+    }
+
+    // Best score of each event over every term starting with the word; the word itself counts double
+    private static Postings match(NavigableMap<String, Postings> postings, String word) {
+        NavigableMap<String, Postings> terms = postings.subMap(word, true, word + Character.MAX_VALUE, true);
+        if (terms.size() == 1) {
+            Map.Entry<String, Postings> term = terms.firstEntry();
+            int factor = term.getKey().equals(word) ? 2 : 1;
+            return new Postings(term.getValue().eventIds(),
+                    Arrays.stream(term.getValue().weights()).map(weight -> weight * factor).toArray());
+        }
+        int size = 0;
+        for (Postings list : terms.values()) {
+            size += list.eventIds().length;
+        }
+
+        // Packed as eventId << 32 | score so one sort groups by event with the best score last
+        long[] packed = new long[size];
+        int n = 0;
+        for (Map.Entry<String, Postings> term : terms.entrySet()) {
+            int factor = term.getKey().equals(word) ? 2 : 1;
+            Postings list = term.getValue();
+            for (int i = 0; i < list.eventIds().length && n < size; i++) {
+                packed[n++] = ((long) list.eventIds()[i] << 32) | (list.weights()[i] * factor);
+            }
+        }
+        Arrays.sort(packed, 0, n);
+
+        int[] eventIds = new int[n];
+        int[] scores = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int eventId = (int) (packed[i] >>> 32);
+            if (count > 0 && eventIds[count - 1] == eventId) {
+                count--;
+            }
+            eventIds[count] = eventId;
+            scores[count] = (int) packed[i];
+            count++;
+        }
+        return new Postings(Arrays.copyOf(eventIds, count), Arrays.copyOf(scores, count));
+    }
+
+    // Upcoming events soonest first, then past events most recent first; fits in 21 bits
+    private static long dateRank(IndexedEvent indexed, long today) {
+        if (indexed == null || indexed.eventDate() == null) {
+            return MAX_DATE_RANK;
+        }
+        long days = indexed.eventDate().toEpochDay() - today;
+        return days >= 0 ? Math.min(days, PAST_DATE_RANK - 1) : Math.min(PAST_DATE_RANK - days, MAX_DATE_RANK);
+    }
+
+    private static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(words(text));
+    }
+
+    // Lowercased words with accents stripped, in order; shared with EventSuggestIndex
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record Snapshot(ConcurrentSkipListMap<String, Postings> postings,
+            ConcurrentHashMap<Integer, IndexedEvent> events) {
+    }
+
+    private record IndexedEvent(LocalDate eventDate, Set<String> terms) {
+    }
+
+    // Event ids in ascending order with the weight of each; never modified once published
+    private record Postings(int[] eventIds, int[] weights) {
+
+        private static Postings of(Map<Integer, Integer> weightsById) {
+            int[] eventIds = weightsById.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] weights = new int[eventIds.length];
+            for (int i = 0; i < eventIds.length; i++) {
+                weights[i] = weightsById.get(eventIds[i]);
+            }
+            return new Postings(eventIds, weights);
+        }
+
+        private Postings with(int eventId, int weight) {
+            int index = Arrays.binarySearch(eventIds, eventId);
+            if (index >= 0) {
+                int[] updated = weights.clone();
+                updated[index] = weight;
+                return new Postings(eventIds, updated);
+            }
+            int at = -index - 1;
+            int[] ids = new int[eventIds.length + 1];
+            int[] ws = new int[ids.length];
+            System.arraycopy(eventIds, 0, ids, 0, at);
+            System.arraycopy(weights, 0, ws, 0, at);
+            ids[at] = eventId;
+            ws[at] = weight;
+            System.arraycopy(eventIds, at, ids, at + 1, eventIds.length - at);
+            System.arraycopy(weights, at, ws, at + 1, weights.length - at);
+            return new Postings(ids, ws);
+        }
+
+        // Null once the last event is gone, which drops the term
+        private Postings without(int eventId) {
+            int index = Arrays.binarySearch(eventIds, eventId);
+            if (index < 0) {
+                return this;
+            }
+            if (eventIds.length == 1) {
+                return null;
+            }
+            int[] ids = new int[eventIds.length - 1];
+            int[] ws = new int[ids.length];
+            System.arraycopy(eventIds, 0, ids, 0, index);
+            System.arraycopy(weights, 0, ws, 0, index);
+            System.arraycopy(eventIds, index + 1, ids, index, ids.length - index);
+            System.arraycopy(weights, index + 1, ws, index, ws.length - index);
+            return new Postings(ids, ws);
+        }
+
+        // Events in both lists, with their weights added up
+        private Postings intersect(Postings other) {
+            int[] ids = new int[Math.min(eventIds.length, other.eventIds.length)];
+            int[] ws = new int[ids.length];
+            int count = 0;
+            for (int i = 0, j = 0; i < eventIds.length && j < other.eventIds.length; ) {
+                if (eventIds[i] < other.eventIds[j]) {
+                    i++;
+                } else if (eventIds[i] > other.eventIds[j]) {
+                    j++;
+                } else {
+                    ids[count] = eventIds[i];
+                    ws[count++] = weights[i++] + other.weights[j++];
+                }
+            }
+            return new Postings(Arrays.copyOf(ids, count), Arrays.copyOf(ws, count));
+        }
+    }
+}
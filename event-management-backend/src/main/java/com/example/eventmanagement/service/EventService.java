@@ -3,17 +3,30 @@ package com.example.eventmanagement.service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.eventmanagement.dao.EventDao;
 import com.example.eventmanagement.dao.UserDao;
+import com.example.eventmanagement.dto.CursorPage;
+import com.example.eventmanagement.dto.EventFacetFilter;
 import com.example.eventmanagement.dto.EventRequest;
+import com.example.eventmanagement.dto.EventSummary;
+import com.example.eventmanagement.dto.FacetedEventPage;
 import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.SerializedResponse;
 import com.example.eventmanagement.util.EventCategory;
 import com.example.eventmanagement.util.EventStatus;
+import com.example.eventmanagement.util.KeysetCursor;
 import com.example.eventmanagement.util.PrivacySettings;
 import com.example.eventmanagement.model.Event;
 import com.example.eventmanagement.model.User;
@@ -21,12 +34,45 @@ import com.example.eventmanagement.model.User;
 @Service
 public class EventService {
 
+	private static final int DEFAULT_EVENT_PAGE_SIZE = 20;
+	private static final int MAX_EVENT_PAGE_SIZE = 100;
+	private static final int MAX_SEARCH_RESULTS = 100;
+	// Cap of the deprecated unpaged listings, which clients should replace with their /page variant
+	private static final int MAX_UNPAGED_EVENTS = 500;
+
 	@Autowired
 	private EventDao eventDao;
 
 	@Autowired
 	private UserDao userDao;
 
+	@Autowired
+	private SeatInventoryService seatInventoryService;
+
+	@Autowired
+	private FlashSaleService flashSaleService;
+
+	@Autowired
+	private WaitlistService waitlistService;
+
+	@Autowired
+	private StatsService statsService;
+
+	@Autowired
+	private EventCatalogCache eventCatalogCache;
+
+	@Autowired
+	private EventSearchIndex eventSearchIndex;
+
+	@Autowired
+	private EventSuggestIndex eventSuggestIndex;
+
+	@Autowired
+	private EventFacetIndex eventFacetIndex;
+
+	@Autowired
+	private EventDetailCache eventDetailCache;
+
 	public ResponseStructure<Event> createEvent(EventRequest request, int userId) {
 
 		User creator = userDao.findUserById(userId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -53,12 +99,18 @@ public class EventService {
 				.eventImageUrl(request.getEventImageUrl() != null ? request.getEventImageUrl() : "")
 				.eventCategory(request.getEventCategory() != null ? request.getEventCategory() : EventCategory.OTHER)
 				.privacySettings(request.getPrivacySettings() != null ? request.getPrivacySettings() : PrivacySettings.PUBLIC)
-				.eventStatus(EventStatus.CREATED)
+				.flashSale(Boolean.TRUE.equals(request.getFlashSale()))
+				.eventStatus(EventStatus.forDate(request.getEventDate(), LocalDate.now()))
 				.createdAt(LocalDate.now())
 				.creator(creator)
 				.build();
 
 		eventDao.saveEvent(event);
+		statsService.eventCreated(event);
+		eventCatalogCache.invalidate(EventCatalogCache.entryOf(event));
+		eventSearchIndex.index(event);
+		eventSuggestIndex.index(event);
+		eventFacetIndex.index(event);
 
 		return ResponseStructure.<Event>builder()
 				.statusCode(HttpStatus.CREATED.value())
@@ -70,16 +122,39 @@ public class EventService {
 	public ResponseStructure<List<Event>> viewAllEvents() {
 
 		return ResponseStructure.<List<Event>>builder().statusCode(HttpStatus.OK.value()).message("All upcoming events")
-				.data(eventDao.findUpcomingEvents()).build();
+				.data(eventDao.findUpcomingEvents(MAX_UNPAGED_EVENTS)).build();
 	}
 
+	public ResponseStructure<CursorPage<EventSummary>> viewAllEventsPage(String cursor, Integer size) {
+		return eventPage("All upcoming events", cursor, size, eventDao::findUpcomingEventsPage,
+				eventDao::findUpcomingEventsAfter);
+	}
+
+	// Waitlist and stats rows go in the transaction that deletes the event; in-memory state once it commits
+	@Transactional
 	public ResponseStructure<String> deleteEvent(int eventId, int userId) {
 
 		Event event = eventDao.findEventByIdAndCreator(eventId, userId)
 				.orElseThrow(() -> new RuntimeException("Unauthorized delete"));
+		EventCatalogCache.CatalogEntry listed = EventCatalogCache.entryOf(event);
 
+		waitlistService.clear(eventId);
+		statsService.eventDeleted(eventId);
 		eventDao.deleteEvent(event);
 
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				seatInventoryService.evict(eventId);
+				flashSaleService.close(eventId);
+				eventCatalogCache.invalidate(listed);
+				eventSearchIndex.remove(eventId);
+				eventSuggestIndex.remove(eventId);
+				eventFacetIndex.remove(eventId);
+				eventDetailCache.invalidate(eventId);
+			}
+		});
+
 		return ResponseStructure.<String>builder().statusCode(HttpStatus.OK.value()).message("Event deleted")
 				.data("Deleted successfully").build();
 	}
@@ -93,10 +168,13 @@ public class EventService {
 				.data(event.getBookings()).build();
 	}
 
+	// Not retried: a concurrent edit fails the version check on save, and applying this request
+	// again to the re-read event would silently overwrite that edit. The organizer gets a 409
 	public ResponseStructure<Event> updateEvent(int eventId, int creatorId, EventRequest request) {
 
 		Event event = eventDao.findEventByIdAndCreator(eventId, creatorId)
 				.orElseThrow(() -> new RuntimeException("Unauthorized update"));
+		EventCatalogCache.CatalogEntry listedBefore = EventCatalogCache.entryOf(event);
 
 		event.setEventName(request.getEventName());
 		event.setDescription(request.getDescription());
@@ -112,48 +190,122 @@ public class EventService {
 		if (request.getPrivacySettings() != null) {
 			event.setPrivacySettings(request.getPrivacySettings());
 		}
+		if (request.getFlashSale() != null) {
+			event.setFlashSale(request.getFlashSale());
+		}
+		// A moved date moves the status with it; EventLifecycleService only pushes statuses forward
+		if (event.getEventStatus() != EventStatus.CANCELLED && event.getEventDate() != null) {
+			event.setEventStatus(EventStatus.forDate(event.getEventDate(), LocalDate.now()));
+		}
+
+		Event updated = eventDao.saveEvent(event);
+		seatInventoryService.evict(eventId);
+		flashSaleService.evict(eventId);
+		eventCatalogCache.invalidate(listedBefore, EventCatalogCache.entryOf(updated));
+		eventSearchIndex.index(updated);
+		eventSuggestIndex.index(updated);
+		eventFacetIndex.index(updated);
+		eventDetailCache.invalidate(eventId);
+		// A larger capacity may have room for waitlisted users
+		waitlistService.markSeatsReleased(eventId);
 
 		return ResponseStructure.<Event>builder()
 				.statusCode(HttpStatus.OK.value())
 				.message("Event updated")
-				.data(eventDao.saveEvent(event))
+				.data(updated)
 				.build();
 	}
 
-	public ResponseStructure<List<Event>> getPublicEvents() {
-		return ResponseStructure.<List<Event>>builder()
+	public SerializedResponse getPublicEvents() {
+		return eventCatalogCache.getPublicEvents(() -> ResponseStructure.<List<Event>>builder()
 				.statusCode(HttpStatus.OK.value())
 				.message("All public events")
-				.data(eventDao.findPublicEvents())
-				.build();
+				.data(eventDao.findPublicEvents(MAX_UNPAGED_EVENTS))
+				.build());
+	}
+
+	public ResponseStructure<CursorPage<EventSummary>> getPublicEventsPage(String cursor, Integer size) {
+		return eventPage("All public events", cursor, size, eventDao::findPublicEventsPage,
+				eventDao::findPublicEventsAfter);
 	}
 
 	public ResponseStructure<List<Event>> searchEvents(String keyword) {
+		List<Integer> eventIds = eventSearchIndex.search(keyword, MAX_SEARCH_RESULTS);
+
+		// Loaded by primary key and put back in ranking order
+		Map<Integer, Event> eventsById = eventDao.findEventsByIds(eventIds).stream()
+				.collect(Collectors.toMap(Event::getEventId, e -> e));
+		List<Event> events = eventIds.stream().map(eventsById::get).filter(Objects::nonNull).toList();
+
 		return ResponseStructure.<List<Event>>builder()
 				.statusCode(HttpStatus.OK.value())
 				.message("Search results")
-				.data(eventDao.searchPublicEvents(keyword))
+				.data(events)
 				.build();
 	}
 
-	public ResponseStructure<List<Event>> getEventsWithFilters(LocalDate startDate, LocalDate endDate, EventCategory category) {
-		return ResponseStructure.<List<Event>>builder()
+	public ResponseStructure<List<String>> suggestEvents(String prefix, Integer limit) {
+		int k = limit == null ? EventSuggestIndex.TOP_K : Math.min(Math.max(limit, 1), EventSuggestIndex.TOP_K);
+		return ResponseStructure.<List<String>>builder()
 				.statusCode(HttpStatus.OK.value())
-				.message("Filtered events")
-				.data(eventDao.findEventsWithFilters(startDate, endDate, category))
+				.message("Suggestions")
+				.data(eventSuggestIndex.suggest(prefix, k))
 				.build();
 	}
 
-	public ResponseStructure<List<Event>> getEventsByCategory(EventCategory category) {
-		return ResponseStructure.<List<Event>>builder()
+	public SerializedResponse getEventsWithFilters(LocalDate startDate, LocalDate endDate, EventCategory category) {
+		return eventCatalogCache.getEventsWithFilters(startDate, endDate, category,
+				() -> ResponseStructure.<List<Event>>builder()
+						.statusCode(HttpStatus.OK.value())
+						.message("Filtered events")
+						.data(eventDao.findEventsWithFilters(startDate, endDate, category))
+						.build());
+	}
+
+	public ResponseStructure<FacetedEventPage> browseEvents(EventFacetFilter filter) {
+		int size = KeysetCursor.pageSize(filter.getSize(), DEFAULT_EVENT_PAGE_SIZE, MAX_EVENT_PAGE_SIZE);
+		int page = filter.getPage() == null ? 0 : Math.max(filter.getPage(), 0);
+		EventFacetIndex.Result result = eventFacetIndex.browse(filter, page, size);
+
+		// Cards loaded by primary key and put back in date order
+		Map<Integer, EventSummary> summariesById = result.eventIds().isEmpty() ? Map.of()
+				: eventDao.findEventSummariesByIds(result.eventIds()).stream()
+						.collect(Collectors.toMap(EventSummary::getEventId, s -> s));
+		List<EventSummary> items = result.eventIds().stream().map(summariesById::get).filter(Objects::nonNull).toList();
+
+		return ResponseStructure.<FacetedEventPage>builder()
 				.statusCode(HttpStatus.OK.value())
-				.message("Events by category")
-				.data(eventDao.findEventsByCategory(category))
+				.message("Faceted events")
+				.data(FacetedEventPage.builder()
+						.items(items)
+						.total(result.total())
+						.page(page)
+						.size(size)
+						.categoryCounts(result.categoryCounts())
+						.priceBandCounts(result.priceBandCounts())
+						.dayTypeCounts(result.dayTypeCounts())
+						.priceTypeCounts(result.priceTypeCounts())
+						.build())
 				.build();
 	}
 
+	public SerializedResponse getEventsByCategory(EventCategory category) {
+		return eventCatalogCache.getEventsByCategory(category, () -> ResponseStructure.<List<Event>>builder()
+				.statusCode(HttpStatus.OK.value())
+				.message("Events by category")
+				.data(eventDao.findEventsByCategory(category, MAX_UNPAGED_EVENTS))
+				.build());
+	}
+
+	public ResponseStructure<CursorPage<EventSummary>> getEventsByCategoryPage(EventCategory category, String cursor,
+			Integer size) {
+		return eventPage("Events by category", cursor, size,
+				limit -> eventDao.findEventsByCategoryPage(category, limit),
+				(eventDate, eventId, limit) -> eventDao.findEventsByCategoryAfter(category, eventDate, eventId, limit));
+	}
+
 	public ResponseStructure<List<Event>> getEventsByCreator(int userId) {
-        List<Event> events = eventDao.findEventsByCreator(userId);
+        List<Event> events = eventDao.findEventsByCreator(userId, MAX_UNPAGED_EVENTS);
         
         return ResponseStructure.<List<Event>>builder()
                 .statusCode(HttpStatus.OK.value())
@@ -162,15 +314,63 @@ public class EventService {
                 .build();
     }
 
-	public ResponseStructure<Event> getEventDetails(int eventId) {
-		Event event = eventDao.findEventById(eventId)
-				.orElseThrow(() -> new RuntimeException("Event not found"));
-		
-		return ResponseStructure.<Event>builder()
+	public ResponseStructure<Map<String, Object>> getCatalogCacheStats() {
+		return ResponseStructure.<Map<String, Object>>builder()
 				.statusCode(HttpStatus.OK.value())
-				.message("Event details")
-				.data(event)
+				.message("Catalog cache statistics")
+				.data(eventCatalogCache.stats())
+				.build();
+	}
+
+	public ResponseStructure<CursorPage<EventSummary>> getEventsByCreatorPage(int userId, String cursor, Integer size) {
+		return eventPage("Events by creator", cursor, size,
+				limit -> eventDao.findEventsByCreatorPage(userId, limit),
+				(eventDate, eventId, limit) -> eventDao.findEventsByCreatorAfter(userId, eventDate, eventId, limit));
+	}
+
+	// Serialized once per event and served as bytes until the event changes
+	public SerializedResponse getEventDetails(int eventId) {
+		return eventDetailCache.get(eventId);
+	}
+
+	// One row past the page tells whether another page follows; the cursor is the (eventDate, eventId) of the last row
+	private ResponseStructure<CursorPage<EventSummary>> eventPage(String message, String cursor, Integer size,
+			IntFunction<List<EventSummary>> firstPage, EventsAfter nextPage) {
+		int pageSize = KeysetCursor.pageSize(size, DEFAULT_EVENT_PAGE_SIZE, MAX_EVENT_PAGE_SIZE);
+
+		List<EventSummary> events;
+		if (cursor == null || cursor.isBlank()) {
+			events = firstPage.apply(pageSize + 1);
+		} else {
+			String[] keys = KeysetCursor.decode(cursor, 2);
+			LocalDate eventDate;
+			int eventId;
+			try {
+				eventDate = LocalDate.parse(keys[0]);
+				eventId = Integer.parseInt(keys[1]);
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Invalid cursor");
+			}
+			events = nextPage.find(eventDate, eventId, pageSize + 1);
+		}
+
+		boolean hasMore = events.size() > pageSize;
+		List<EventSummary> items = hasMore ? events.subList(0, pageSize) : events;
+		String nextCursor = null;
+		if (hasMore) {
+			EventSummary last = items.get(items.size() - 1);
+			nextCursor = KeysetCursor.encode(last.getEventDate(), last.getEventId());
+		}
+
+		return ResponseStructure.<CursorPage<EventSummary>>builder()
+				.statusCode(HttpStatus.OK.value())
+				.message(message)
+				.data(CursorPage.<EventSummary>builder().items(items).nextCursor(nextCursor).hasMore(hasMore).build())
 				.build();
 	}
 
+	@FunctionalInterface
+	private interface EventsAfter {
+		List<EventSummary> find(LocalDate eventDate, int eventId, int limit);
+	}
 }
@@ -0,0 +1,393 @@
+package com.example.eventmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PrivacySettings;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Typeahead over the names, venues and categories of public events. Each phrase is kept
+ * once and filed in a compressed prefix tree under every word it starts with; each node
+ * holds the TOP_K most popular phrases beneath it, so a lookup is a walk down the typed
+ * prefix. Nodes are never changed once published: writes copy the path they touch and
+ * swap the root. A phrase's popularity is the seats sold across the events sharing it,
+ * refreshed by a periodic rebuild.
+ */
+@Service
+@Slf4j
+public class EventSuggestIndex {
+
+    public static final int TOP_K = 10;
+    private static final Node[] NO_CHILDREN = {};
+    private static final Suggestion[] NO_SUGGESTIONS = {};
+    private static final Comparator<Suggestion> MOST_POPULAR = Comparator.comparingLong(Suggestion::popularity)
+            .reversed().thenComparing(Suggestion::text);
+
+    @Autowired
+    private EventDao eventDao;
+
+    private volatile Node root = new Node("", NO_CHILDREN, NO_SUGGESTIONS, NO_SUGGESTIONS);
+
+    // Writers only, guarded by this
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Integer, EventPhrases> eventPhrases = new HashMap<>();
+
+    // Seats sold move with every booking, so popularity is caught up here rather than per booking
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.suggest.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        phrases.clear();
+        eventPhrases.clear();
+        for (Object[] row : eventDao.findPublicEventPhrases()) {
+            tally((Integer) row[0], phrasesOf((String) row[1], (String) row[2], (EventCategory) row[3]),
+                    popularity((Integer) row[4]));
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (Phrase phrase : phrases.values()) {
+            Suggestion suggestion = phrase.suggestion();
+            for (String key : wordStarts(phrase.key)) {
+                entries.add(new Entry(key, suggestion));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key));
+        Node built = build(entries, 0, entries.size(), 0, "");
+        root = built != null ? built : new Node("", NO_CHILDREN, NO_SUGGESTIONS, NO_SUGGESTIONS);
+        log.info("Indexed {} suggestion phrases of {} public events", phrases.size(), eventPhrases.size());
+    }
+
+    public void index(Event event) {
+        if (event.getPrivacySettings() != PrivacySettings.PUBLIC) {
+            remove(event.getEventId());
+            return;
+        }
+        Set<Phrase> changed = new LinkedHashSet<>();
+        synchronized (this) {
+            withdraw(event.getEventId(), changed);
+            changed.addAll(tally(event.getEventId(),
+                    phrasesOf(event.getEventName(), event.getVenue(), event.getEventCategory()),
+                    popularity(event.getSeatsSold())));
+            publish(changed);
+        }
+    }
+
+    public synchronized void remove(int eventId) {
+        Set<Phrase> changed = new LinkedHashSet<>();
+        withdraw(eventId, changed);
+        publish(changed);
+    }
+
+    // Most popular phrases with a word starting with the typed text
+    public List<String> suggest(String prefix, int limit) {
+        String key = String.join(" ", EventSearchIndex.words(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int depth = 0; depth < key.length(); ) {
+            Node child = node.child(key.charAt(depth));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label(), key, depth);
+            if (depth + common < key.length() && common < child.label().length()) {
+                return List.of();
+            }
+            node = child;
+            depth += common;
+        }
+        return Arrays.stream(node.top()).limit(limit).map(Suggestion::text).toList();
+    }
+
+    private List<Phrase> tally(int eventId, List<String> texts, long popularity) {
+        List<Phrase> tallied = new ArrayList<>();
+        for (String text : texts) {
+            String key = String.join(" ", EventSearchIndex.words(text));
+            if (key.isEmpty()) {
+                continue;
+            }
+            Phrase phrase = phrases.computeIfAbsent(key, k -> new Phrase(k, text.strip()));
+            if (tallied.contains(phrase)) {
+                continue;
+            }
+            phrase.events++;
+            phrase.popularity += popularity;
+            tallied.add(phrase);
+        }
+        eventPhrases.put(eventId, new EventPhrases(tallied, popularity));
+        return tallied;
+    }
+
+    private void withdraw(int eventId, Set<Phrase> changed) {
+        EventPhrases previous = eventPhrases.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (Phrase phrase : previous.phrases()) {
+            phrase.events--;
+            phrase.popularity -= previous.popularity();
+            changed.add(phrase);
+        }
+    }
+
+    // Readers keep walking the old tree until every changed phrase is in the new one
+    private void publish(Set<Phrase> changed) {
+        Node next = root;
+        for (Phrase phrase : changed) {
+            Suggestion suggestion = null;
+            if (phrase.events > 0) {
+                suggestion = phrase.suggestion();
+            } else {
+                phrases.remove(phrase.key);
+            }
+            for (String key : wordStarts(phrase.key)) {
+                next = update(next, key, 0, phrase.key, suggestion);
+            }
+        }
+        root = next;
+    }
+
+    private static List<String> phrasesOf(String name, String venue, EventCategory category) {
+        List<String> texts = new ArrayList<>();
+        if (name != null) {
+            texts.add(name);
+        }
+        if (venue != null) {
+            texts.add(venue);
+        }
+        if (category != null) {
+            texts.add(category.name().charAt(0) + category.name().substring(1).toLowerCase(Locale.ROOT));
+        }
+        return texts;
+    }
+
+    // An event with no sales still counts, so phrases shared by many events rise above one-offs
+    private static long popularity(Integer seatsSold) {
+        return 1 + (seatsSold == null ? 0 : seatsSold);
+    }
+
+    private static List<String> wordStarts(String key) {
+        List<String> starts = new ArrayList<>();
+        for (int i = 0; i < key.length(); i++) {
+            if (i == 0 || key.charAt(i - 1) == ' ') {
+                starts.add(key.substring(i));
+            }
+        }
+        return starts;
+    }
+
+    private static int commonPrefix(String label, String key, int depth) {
+        int max = Math.min(label.length(), key.length() - depth);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(depth + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Sorted entries in [from, to) all share the key up to depth; label is the last part of that
+    private static Node build(List<Entry> entries, int from, int to, int depth, String label) {
+        List<Suggestion> terminals = new ArrayList<>();
+        while (from < to && entries.get(from).key().length() == depth) {
+            terminals.add(entries.get(from++).suggestion());
+        }
+
+        List<Node> children = new ArrayList<>();
+        while (from < to) {
+            char c = entries.get(from).key().charAt(depth);
+            int end = from + 1;
+            while (end < to && entries.get(end).key().charAt(depth) == c) {
+                end++;
+            }
+            // Sorted, so what the first and last keys share is shared by the whole group
+            String first = entries.get(from).key();
+            int common = commonPrefix(first.substring(depth), entries.get(end - 1).key(), depth);
+            children.add(build(entries, from, end, depth + common, first.substring(depth, depth + common)));
+            from = end;
+        }
+        return node(label, children.toArray(NO_CHILDREN), terminals.toArray(NO_SUGGESTIONS));
+    }
+
+    // Copies the path to key with the phrase's suggestion replaced, or dropped when null
+    private static Node update(Node node, String key, int depth, String phraseKey, Suggestion suggestion) {
+        if (depth == key.length()) {
+            List<Suggestion> terminals = new ArrayList<>();
+            for (Suggestion terminal : node.terminals()) {
+                if (!terminal.key().equals(phraseKey)) {
+                    terminals.add(terminal);
+                }
+            }
+            if (suggestion != null) {
+                terminals.add(suggestion);
+            }
+            return compact(node, node.children(), terminals.toArray(NO_SUGGESTIONS));
+        }
+
+        int index = node.indexOf(key.charAt(depth));
+        Node[] children = node.children();
+        if (index < 0) {
+            if (suggestion == null) {
+                return node;
+            }
+            Node leaf = node(key.substring(depth), NO_CHILDREN, new Suggestion[] { suggestion });
+            children = insert(children, -index - 1, leaf);
+        } else {
+            Node child = children[index];
+            int common = commonPrefix(child.label(), key, depth);
+            Node updated;
+            if (common == child.label().length()) {
+                updated = update(child, key, depth + common, phraseKey, suggestion);
+            } else if (suggestion == null) {
+                return node;
+            } else {
+                Node tail = new Node(child.label().substring(common), child.children(), child.terminals(), child.top());
+                Node split = new Node(child.label().substring(0, common), new Node[] { tail }, NO_SUGGESTIONS, tail.top());
+                updated = update(split, key, depth + common, phraseKey, suggestion);
+            }
+            if (updated == child) {
+                return node;
+            }
+            children = updated == null ? delete(children, index) : replace(children, index, updated);
+        }
+        return compact(node, children, node.terminals());
+    }
+
+    // Empty nodes go away and a lone child is folded into its parent, except at the root
+    private static Node compact(Node node, Node[] children, Suggestion[] terminals) {
+        if (node.label().isEmpty()) {
+            return new Node("", children, terminals, top(children, terminals));
+        }
+        if (terminals.length == 0 && children.length == 1) {
+            Node child = children[0];
+            return new Node(node.label() + child.label(), child.children(), child.terminals(), child.top());
+        }
+        return node(node.label(), children, terminals);
+    }
+
+    private static Node node(String label, Node[] children, Suggestion[] terminals) {
+        if (children.length == 0 && terminals.length == 0) {
+            return null;
+        }
+        return new Node(label, children, terminals, top(children, terminals));
+    }
+
+    // Bounded heap over the node's own phrases and the best of each child
+    private static Suggestion[] top(Node[] children, Suggestion[] terminals) {
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(TOP_K + 1, MOST_POPULAR.reversed());
+        Set<String> seen = new HashSet<>();
+        offer(best, seen, terminals);
+        for (Node child : children) {
+            offer(best, seen, child.top());
+        }
+        Suggestion[] top = best.toArray(NO_SUGGESTIONS);
+        Arrays.sort(top, MOST_POPULAR);
+        return top;
+    }
+
+    private static void offer(PriorityQueue<Suggestion> best, Set<String> seen, Suggestion[] suggestions) {
+        for (Suggestion suggestion : suggestions) {
+            if (!seen.add(suggestion.key())) {
+                continue;
+            }
+            best.offer(suggestion);
+            if (best.size() > TOP_K) {
+                best.poll();
+            }
+        }
+    }
+
+    private static Node[] insert(Node[] children, int index, Node child) {
+        Node[] copy = new Node[children.length + 1];
+        System.arraycopy(children, 0, copy, 0, index);
+        copy[index] = child;
+        System.arraycopy(children, index, copy, index + 1, children.length - index);
+        return copy;
+    }
+
+    private static Node[] replace(Node[] children, int index, Node child) {
+        Node[] copy = children.clone();
+        copy[index] = child;
+        return copy;
+    }
+
+    private static Node[] delete(Node[] children, int index) {
+        Node[] copy = new Node[children.length - 1];
+        System.arraycopy(children, 0, copy, 0, index);
+        System.arraycopy(children, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    // Tally of one normalized phrase over the events using it; text is what gets suggested
+    private static class Phrase {
+        private final String key;
+        private final String text;
+        private int events;
+        private long popularity;
+
+        private Phrase(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+
+        private Suggestion suggestion() {
+            return new Suggestion(key, text, popularity);
+        }
+    }
+
+    private record EventPhrases(List<Phrase> phrases, long popularity) {
+    }
+
+    private record Suggestion(String key, String text, long popularity) {
+    }
+
+    private record Entry(String key, Suggestion suggestion) {
+    }
+
+    // Children are sorted by the first character of their label, which is unique among siblings
+    private record Node(String label, Node[] children, Suggestion[] terminals, Suggestion[] top) {
+
+        private int indexOf(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = children[mid].label().charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        private Node child(char c) {
+            int index = indexOf(c);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.eventmanagement.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.AdmissionResponse;
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.exception.BookingQueueFullException;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.util.AdmissionStatus;
+import com.example.eventmanagement.util.EventStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Booking requests for flash-sale events are queued per event and booked by a single
+ * drainer per event, a batch per transaction, so a burst never uses more than
+ * app.flash-sale.workers connections. Callers poll their admission for the outcome.
+ */
+@Service
+@Slf4j
+public class FlashSaleService {
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Value("${app.flash-sale.queue-capacity:5000}")
+    private int queueCapacity;
+
+    @Value("${app.flash-sale.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.flash-sale.workers:4}")
+    private int workers;
+
+    @Value("${app.flash-sale.result-ttl-minutes:10}")
+    private long resultTtlMinutes;
+
+    @Value("${app.flash-sale.max-cached-flags:10000}")
+    private long maxCachedFlags;
+
+    @Value("${app.flash-sale.flag-ttl-seconds:60}")
+    private long flagTtlSeconds;
+
+    // Looked up for every booking request, so bounded: event ids come from clients
+    private Cache<Integer, Boolean> flashSaleFlags;
+
+    private final ConcurrentHashMap<Integer, AdmissionQueue> queues = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Admission> admissions = new ConcurrentHashMap<>();
+
+    // One open admission per user and event, keyed "eventId:userId"
+    private final ConcurrentHashMap<String, Admission> openAdmissions = new ConcurrentHashMap<>();
+
+    private ExecutorService drainers;
+
+    @PostConstruct
+    public void init() {
+        drainers = Executors.newFixedThreadPool(workers);
+        flashSaleFlags = Caffeine.newBuilder()
+                .maximumSize(maxCachedFlags)
+                .expireAfterWrite(Duration.ofSeconds(flagTtlSeconds))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainers.shutdown();
+    }
+
+    public boolean isFlashSale(int eventId) {
+        return flashSaleFlags.get(eventId, eventDao::isFlashSale);
+    }
+
+    public void evict(int eventId) {
+        flashSaleFlags.invalidate(eventId);
+    }
+
+    public ResponseStructure<AdmissionResponse> enqueue(int userId, int eventId) {
+        AdmissionQueue queue = queues.computeIfAbsent(eventId, id -> new AdmissionQueue(queueCapacity));
+        Admission admission = new Admission(userId, eventId);
+
+        Admission open = openAdmissions.putIfAbsent(admission.userKey(), admission);
+        if (open != null) {
+            return admissionResponse(open, queue);
+        }
+
+        if (!queue.offer(admission)) {
+            openAdmissions.remove(admission.userKey());
+            throw new BookingQueueFullException("Too many booking requests for this event. Please try again shortly.");
+        }
+        admissions.put(admission.id, admission);
+        scheduleDrain(eventId, queue);
+
+        return admissionResponse(admission, queue);
+    }
+
+    public ResponseStructure<AdmissionResponse> getAdmission(String admissionId) {
+        Admission admission = admissions.get(admissionId);
+        if (admission == null) {
+            throw new RuntimeException("Admission not found");
+        }
+        return admissionResponse(admission, queues.get(admission.eventId));
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedAdmissions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(resultTtlMinutes);
+        admissions.values().removeIf(a -> a.finishedAt != null && a.finishedAt.isBefore(cutoff));
+    }
+
+    // Events deleted elsewhere, or cancelled or completed since their sale opened
+    @Scheduled(fixedDelay = 60000)
+    public void dropClosedQueues() {
+        if (queues.isEmpty()) {
+            return;
+        }
+        // Only the status column, for all open queues at once
+        Map<Integer, EventStatus> statuses = eventDao.findEventStatuses(List.copyOf(queues.keySet()));
+        for (int eventId : queues.keySet()) {
+            EventStatus status = statuses.get(eventId);
+            if (status == null || status == EventStatus.CANCELLED || status == EventStatus.COMPLETED) {
+                close(eventId);
+            }
+        }
+    }
+
+    // Rejects whatever is still queued for the event and forgets its queue
+    public void close(int eventId) {
+        flashSaleFlags.invalidate(eventId);
+        AdmissionQueue queue = queues.remove(eventId);
+        if (queue == null) {
+            return;
+        }
+        List<Admission> queued = new ArrayList<>();
+        queue.requests.drainTo(queued);
+        for (Admission admission : queued) {
+            finish(admission, AdmissionStatus.REJECTED, null, "Event is no longer open for booking");
+            queue.processed.incrementAndGet();
+        }
+    }
+
+    private void scheduleDrain(int eventId, AdmissionQueue queue) {
+        if (queue.draining.compareAndSet(false, true)) {
+            drainers.execute(() -> drain(eventId, queue));
+        }
+    }
+
+    private void drain(int eventId, AdmissionQueue queue) {
+        List<Admission> batch = new ArrayList<>(batchSize);
+        try {
+            while (queue.requests.drainTo(batch, batchSize) > 0) {
+                bookBatch(eventId, batch);
+                queue.processed.addAndGet(batch.size());
+                batch.clear();
+            }
+        } finally {
+            queue.draining.set(false);
+        }
+        // A request may have arrived after the last drainTo but before the flag was cleared
+        if (!queue.requests.isEmpty()) {
+            scheduleDrain(eventId, queue);
+        }
+    }
+
+    private void bookBatch(int eventId, List<Admission> batch) {
+        Map<Integer, ResponseStructure<Ticket>> results;
+        try {
+            results = ticketService.bookForUsers(eventId, batch.stream().map(a -> a.userId).toList());
+        } catch (RuntimeException e) {
+            // The whole batch rolled back, e.g. on a booking made outside the queue; one at a time finds the culprit
+            log.debug("Flash sale batch for event {} failed, booking one by one: {}", eventId, e.getMessage());
+            batch.forEach(this::book);
+            return;
+        }
+        for (Admission admission : batch) {
+            ResponseStructure<Ticket> result = results.get(admission.userId);
+            if (result.getData() != null) {
+                finish(admission, AdmissionStatus.BOOKED, result.getData().getTicketId(), result.getMessage());
+            } else {
+                finish(admission, AdmissionStatus.REJECTED, null, result.getMessage());
+            }
+        }
+    }
+
+    private void book(Admission admission) {
+        try {
+            Ticket ticket = ticketService.bookEvent(admission.userId, admission.eventId).getData();
+            finish(admission, AdmissionStatus.BOOKED, ticket.getTicketId(),
+                    "Ticket booked successfully. Please complete payment to confirm.");
+        } catch (RuntimeException e) {
+            log.debug("Flash sale admission {} rejected: {}", admission.id, e.getMessage());
+            finish(admission, AdmissionStatus.REJECTED, null, e.getMessage());
+        }
+    }
+
+    private void finish(Admission admission, AdmissionStatus status, Integer ticketId, String message) {
+        admission.ticketId = ticketId;
+        admission.message = message;
+        admission.status = status;
+        admission.finishedAt = LocalDateTime.now();
+        openAdmissions.remove(admission.userKey(), admission);
+    }
+
+    private ResponseStructure<AdmissionResponse> admissionResponse(Admission admission, AdmissionQueue queue) {
+        boolean queued = admission.status == AdmissionStatus.QUEUED;
+        long position = queued && queue != null ? Math.max(1, admission.sequence - queue.processed.get()) : 0;
+
+        AdmissionResponse response = AdmissionResponse.builder()
+                .admissionId(admission.id)
+                .eventId(admission.eventId)
+                .status(admission.status)
+                .position(position)
+                .ticketId(admission.ticketId)
+                .message(queued ? "Your booking request is in the queue" : admission.message)
+                .build();
+
+        return ResponseStructure.<AdmissionResponse>builder()
+                .statusCode(queued ? HttpStatus.ACCEPTED.value() : HttpStatus.OK.value())
+                .message(queued ? "Booking request queued" : "Booking request processed")
+                .data(response)
+                .build();
+    }
+
+    private static class AdmissionQueue {
+
+        private final ArrayBlockingQueue<Admission> requests;
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private AdmissionQueue(int capacity) {
+            this.requests = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Sequence numbers follow queue order and only accepted requests take one, so
+        // sequence - processed is the position in the queue
+        private synchronized boolean offer(Admission admission) {
+            admission.sequence = enqueued.get() + 1;
+            if (!requests.offer(admission)) {
+                return false;
+            }
+            enqueued.set(admission.sequence);
+            return true;
+        }
+    }
+
+    private static class Admission {
+
+        private final String id = UUID.randomUUID().toString();
+        private final int userId;
+        private final int eventId;
+        private long sequence;
+        private volatile AdmissionStatus status = AdmissionStatus.QUEUED;
+        private volatile Integer ticketId;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private Admission(int userId, int eventId) {
+            this.userId = userId;
+            this.eventId = eventId;
+        }
+
+        private String userKey() {
+            return eventId + ":" + userId;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.eventmanagement.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dao.IdempotencyRecordDao;
+import com.example.eventmanagement.model.IdempotencyRecord;
+import com.example.eventmanagement.util.IdempotencyStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Successful responses to requests carrying an Idempotency-Key are kept in the
+ * idempotency_keys table until they expire, with the most recent ones cached in memory, so a
+ * retried request gets the original response back instead of running the write again.
+ * A request claims its key with a PENDING row before it runs, so a retry arriving meanwhile,
+ * on this instance or another, finds the claim rather than running the write a second time.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    // A claim that is lost between a failed insert and the lookup is tried again this many times
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    @Autowired
+    private IdempotencyRecordDao idempotencyRecordDao;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.pending-timeout-seconds:120}")
+    private long pendingTimeoutSeconds;
+
+    @Value("${app.idempotency.max-cached-keys:10000}")
+    private long maxCachedKeys;
+
+    // Completed responses only; claims are always read from the table
+    private Cache<String, IdempotencyRecord> responses;
+
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maxCachedKeys)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+    }
+
+    /**
+     * Claims the key for a request with the given hash. Empty means the caller owns the key
+     * and must {@link #complete} or {@link #release} it; otherwise the record found is returned,
+     * either a stored response or the PENDING claim of a request still running.
+     */
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        IdempotencyRecord cached = responses.getIfPresent(key);
+        if (cached != null && cached.getExpiresAt().isAfter(LocalDateTime.now())) {
+            return Optional.of(cached);
+        }
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime claimExpiresAt = now.plusSeconds(pendingTimeoutSeconds);
+            if (idempotencyRecordDao.insertPending(key, requestHash, now, claimExpiresAt)
+                    || idempotencyRecordDao.reclaim(key, requestHash, now, claimExpiresAt)) {
+                responses.invalidate(key);
+                return Optional.empty();
+            }
+            // Null when the claim was released or purged after the insert failed
+            Optional<IdempotencyRecord> found = idempotencyRecordDao.findByKey(key);
+            if (found.isPresent()) {
+                if (found.get().getStatus() == IdempotencyStatus.COMPLETED) {
+                    responses.put(key, found.get());
+                }
+                return found;
+            }
+        }
+        // Claimed and released over and over by other requests; the client can try again
+        return Optional.of(IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(IdempotencyStatus.PENDING)
+                .build());
+    }
+
+    public void complete(String key, String requestHash, int statusCode, String contentType, byte[] body) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(IdempotencyStatus.COMPLETED)
+                .statusCode(statusCode)
+                .contentType(contentType)
+                .responseBody(body)
+                .createdAt(now)
+                .expiresAt(now.plusHours(ttlHours))
+                .build();
+
+        responses.put(key, record);
+        try {
+            if (!idempotencyRecordDao.complete(key, requestHash, statusCode, contentType, body, record.getExpiresAt())) {
+                log.warn("Idempotency key {} was taken over before its response was stored", key);
+            }
+        } catch (RuntimeException e) {
+            // The in-memory copy still covers retries to this instance; the claim times out elsewhere
+            log.warn("Could not persist idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    // A failed request gives its key up so the client can fix the problem and retry
+    public void release(String key, String requestHash) {
+        try {
+            idempotencyRecordDao.deletePending(key, requestHash);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void purgeExpired() {
+        int deleted = idempotencyRecordDao.deleteExpired();
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.eventmanagement.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dto.SerializedResponse;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes response bodies once for the caches that serve bytes straight to the client:
+ * UTF-8 JSON through the application's ObjectMapper, so the output matches what the
+ * message converters would write, plus a gzipped copy when app.response-cache.gzip is on
+ * and the body is big enough to gain from it.
+ */
+@Service
+public class ResponseSerializer {
+
+    @Value("${app.response-cache.gzip:true}")
+    private boolean gzip;
+
+    @Value("${app.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public SerializedResponse serialize(Object body) {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        String hash = sha256(json);
+        if (!gzip || json.length < gzipMinBytes) {
+            return new SerializedResponse(json, "\"" + hash + "\"", null, null);
+        }
+        return new SerializedResponse(json, "\"" + hash + "\"", gzip(json), "\"" + hash + "-gzip\"");
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.eventmanagement.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
+
+// Retries a write that lost an optimistic-lock race, with exponential backoff and jitter (app.retry.*).
+// Each attempt runs in a transaction of its own; see ResilienceConfig for the advice order
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(includes = ObjectOptimisticLockingFailureException.class,
+        maxRetriesString = "${app.retry.max-retries:3}", delayString = "${app.retry.delay-ms:50}",
+        jitterString = "${app.retry.jitter-ms:25}", multiplier = 2)
+public @interface RetryOnConflict {
+}
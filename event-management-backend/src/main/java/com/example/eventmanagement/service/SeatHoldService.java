@@ -0,0 +1,140 @@
+package com.example.eventmanagement.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.eventmanagement.dao.BookingDao;
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.model.Booking;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pending bookings hold their seat until hold_expires_at. Live holds sit in a delay
+ * queue and the sweeper releases the expired ones in batches, one bulk update per event.
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    @Autowired
+    private BookingDao bookingDao;
+
+    @Autowired
+    private TicketDao ticketDao;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.booking.hold-ttl-minutes:15}")
+    private long holdTtlMinutes;
+
+    @Value("${app.booking.hold-sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private final DelayQueue<SeatHold> holds = new DelayQueue<>();
+
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plusMinutes(holdTtlMinutes);
+    }
+
+    public void track(Booking booking) {
+        SeatHold hold = new SeatHold(booking.getBookingId(), booking.getEvent().getEventId(), booking.getSeatCount(),
+                booking.getHoldExpiresAt());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holds.add(hold);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holds.add(hold);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        for (Object[] row : bookingDao.findPendingHolds()) {
+            holds.add(new SeatHold((Integer) row[0], (Integer) row[1], (Integer) row[2], (LocalDateTime) row[3]));
+        }
+        log.info("Tracking {} pending seat holds", holds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold-sweep-interval-ms:30000}")
+    public void releaseExpiredHolds() {
+        List<SeatHold> expired = new ArrayList<>();
+        List<SeatHold> failed = new ArrayList<>();
+        while (holds.drainTo(expired, sweepBatchSize) > 0) {
+            // Bookings of the same event and size release a known number of seats per row
+            Map<List<Integer>, List<SeatHold>> holdsByEventAndSize = expired.stream()
+                    .collect(Collectors.groupingBy(hold -> List.of(hold.eventId(), hold.seats())));
+
+            holdsByEventAndSize.forEach((key, group) -> {
+                if (!releaseHolds(key.get(0), key.get(1), group.stream().map(SeatHold::bookingId).toList())) {
+                    failed.addAll(group);
+                }
+            });
+            expired.clear();
+        }
+        // Retried on the next run
+        holds.addAll(failed);
+    }
+
+    private boolean releaseHolds(int eventId, int seats, List<Integer> bookingIds) {
+        try {
+            int released = transactionTemplate.execute(status -> {
+                int count = bookingDao.expireHolds(bookingIds, seats);
+                if (count > 0) {
+                    ticketDao.cancelBookedTickets(bookingIds);
+                    seatInventoryService.release(eventId, count * seats);
+                    statsService.pendingReleased(eventId, count);
+                }
+                return count * seats;
+            });
+            if (released > 0) {
+                log.info("Released {} seats from expired holds for event {}", released, eventId);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to release seat holds for event {}", eventId, e);
+            return false;
+        }
+    }
+
+    private record SeatHold(int bookingId, int eventId, int seats, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((SeatHold) other).expiresAt);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.eventmanagement.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+
+/**
+ * The seats_sold / seats_held columns are the source of truth and only move through
+ * conditional updates. The per-event in-memory counters just reject sold-out requests
+ * early and are reloaded whenever they disagree with the database.
+ * <p>
+ * The counters assume one instance: seats released by another instance or changed directly
+ * in the database never reach them. A counter that cannot cover a request is therefore
+ * re-read from the database once it is older than the recheck interval, so such an event
+ * looks sold out here for at most that long. Each event has a single counter rather than
+ * striped ones, as a hold already costs a conditional update of the event row.
+ */
+@Service
+public class SeatInventoryService {
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.booking.sold-out-recheck-ms:1000}")
+    private long soldOutRecheckMs;
+
+    private final ConcurrentHashMap<Integer, Counter> remainingSeats = new ConcurrentHashMap<>();
+
+    public boolean isSoldOut(Event event) {
+        if (event.getMaxAttendees() == null) {
+            return false;
+        }
+        return remainingFor(event.getEventId(), 1).get() <= 0;
+    }
+
+    public boolean tryHold(Event event, int seats) {
+        int eventId = event.getEventId();
+
+        if (event.getMaxAttendees() == null) {
+            return eventDao.holdSeats(eventId, seats);
+        }
+
+        AtomicInteger remaining = remainingFor(eventId, seats);
+        if (!tryTake(remaining, seats)) {
+            return false;
+        }
+
+        if (!eventDao.holdSeats(eventId, seats)) {
+            remainingSeats.remove(eventId);
+            return false;
+        }
+
+        evictOnRollback(eventId);
+        return true;
+    }
+
+    public boolean confirmHeld(int eventId, int seats) {
+        if (eventDao.convertHeldSeats(eventId, seats)) {
+            return true;
+        }
+        // Bookings made before the counters existed never held a seat
+        if (eventDao.sellSeats(eventId, seats)) {
+            remainingSeats.remove(eventId);
+            return true;
+        }
+        return false;
+    }
+
+    public void release(int eventId, int seats) {
+        if (eventDao.releaseHeldSeats(eventId, seats)) {
+            returnSeats(eventId, seats);
+        }
+        evictOnRollback(eventId);
+    }
+
+    public void releaseSold(int eventId, int seats) {
+        if (eventDao.releaseSoldSeats(eventId, seats)) {
+            returnSeats(eventId, seats);
+        }
+        evictOnRollback(eventId);
+    }
+
+    public void evict(int eventId) {
+        remainingSeats.remove(eventId);
+    }
+
+    private void returnSeats(int eventId, int seats) {
+        Counter counter = remainingSeats.get(eventId);
+        if (counter != null) {
+            counter.remaining().addAndGet(seats);
+        }
+        // Delivered after commit to transactional listeners such as the waitlist
+        eventPublisher.publishEvent(new SeatsReleased(eventId, seats));
+    }
+
+    // A counter short of the seats asked for is reloaded once it is past the recheck interval
+    private AtomicInteger remainingFor(int eventId, int seats) {
+        Counter counter = remainingSeats.computeIfAbsent(eventId, this::load);
+        if (counter.remaining().get() < seats
+                && System.currentTimeMillis() - counter.loadedAt() >= soldOutRecheckMs) {
+            Counter reloaded = load(eventId);
+            counter = remainingSeats.replace(eventId, counter, reloaded) ? reloaded
+                    : remainingSeats.computeIfAbsent(eventId, this::load);
+        }
+        return counter.remaining();
+    }
+
+    private Counter load(int eventId) {
+        return new Counter(new AtomicInteger(eventDao.findRemainingSeats(eventId).orElse(0)),
+                System.currentTimeMillis());
+    }
+
+    private boolean tryTake(AtomicInteger remaining, int seats) {
+        while (true) {
+            int current = remaining.get();
+            if (current < seats) {
+                return false;
+            }
+            if (remaining.compareAndSet(current, current - seats)) {
+                return true;
+            }
+        }
+    }
+
+    private void evictOnRollback(int eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    remainingSeats.remove(eventId);
+                }
+            }
+        });
+    }
+
+    public record SeatsReleased(int eventId, int seats) {
+    }
+
+    private record Counter(AtomicInteger remaining, long loadedAt) {
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.eventmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.eventmanagement.dao.BookingBucketDao;
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dao.EventStatsDao;
+import com.example.eventmanagement.dao.OrganizerStatsDao;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.EventStats;
+import com.example.eventmanagement.model.OrganizerStats;
+import com.example.eventmanagement.util.SeriesGranularity;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the event_stats and organizer_stats rollups and the booking_buckets time series in
+ * step with bookings. Every booking state change queues its deltas once the transaction that
+ * changes the booking commits; they are summed in memory per row and written on a short
+ * schedule, so bookings for one event or organizer do not queue on its rows. Deltas lost with
+ * an instance are repaired by the rebuild, which recomputes the rollups and the series from
+ * the bookings table.
+ */
+@Service
+@Slf4j
+public class StatsService {
+
+    @Autowired
+    private EventStatsDao eventStatsDao;
+
+    @Autowired
+    private OrganizerStatsDao organizerStatsDao;
+
+    @Autowired
+    private BookingBucketDao bookingBucketDao;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Committed but not yet written deltas, by event id, series bucket and organizer id
+    private final ConcurrentHashMap<Integer, Delta> pendingEventDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<BucketKey, BucketDelta> pendingBucketDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Delta> pendingOrganizerDeltas = new ConcurrentHashMap<>();
+
+    // Event id to organizer id; an event's creator never changes
+    private final ConcurrentHashMap<Integer, Integer> organizerIds = new ConcurrentHashMap<>();
+
+    // Keeps a flush from landing on the rows a rebuild is replacing
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void eventCreated(Event event) {
+        int organizerId = event.getCreator().getUserId();
+        if (!organizerStatsDao.existsByOrganizerId(organizerId)) {
+            try {
+                organizerStatsDao.saveStats(OrganizerStats.builder().organizerId(organizerId).build());
+            } catch (DataIntegrityViolationException e) {
+                // Created by a concurrent event of the same organizer
+            }
+        }
+        eventStatsDao.saveStats(EventStats.builder().eventId(event.getEventId()).organizerId(organizerId).build());
+    }
+
+    // Deltas of the event already handed to its organizer are written by the next flush as usual;
+    // the ones not yet written to its own row go with the row
+    public void eventDeleted(int eventId) {
+        transactionTemplate.executeWithoutResult(status -> eventStatsDao.findByEventId(eventId).ifPresent(stats -> {
+            eventStatsDao.deleteStats(eventId);
+            organizerStatsDao.applyDelta(stats.getOrganizerId(), -stats.getTotalBookings(),
+                    -stats.getConfirmedBookings(), -stats.getPendingBookings(), -stats.getRevenue());
+            bookingBucketDao.deleteByEvent(eventId);
+        }));
+        pendingEventDeltas.remove(eventId);
+        pendingBucketDeltas.keySet().removeIf(key -> key.eventId() == eventId);
+        organizerIds.remove(eventId);
+    }
+
+    public void bookingCreated(int eventId, LocalDateTime bookingTime) {
+        afterCommit(() -> {
+            queueEventDelta(eventId, new Delta(1, 0, 1, 0));
+            queueBucketDelta(eventId, bookingTime, new BucketDelta(1, 0));
+        });
+    }
+
+    // An expired or cancelled booking row booked again. Like the rebuild, the series counts each
+    // booking once at its latest booking time, so it moves out of the bucket it was first counted in.
+    // It carries no revenue there, as expiring or cancelling it already took its amount back out.
+    public void bookingReopened(int eventId, LocalDateTime previousBookingTime, LocalDateTime bookingTime) {
+        afterCommit(() -> {
+            queueEventDelta(eventId, new Delta(0, 0, 1, 0));
+            queueBucketDelta(eventId, previousBookingTime, new BucketDelta(-1, 0));
+            queueBucketDelta(eventId, bookingTime, new BucketDelta(1, 0));
+        });
+    }
+
+    // Revenue is charted at the time the seats were booked, not paid for
+    public void bookingConfirmed(int eventId, LocalDateTime bookingTime, double amount) {
+        afterCommit(() -> {
+            queueEventDelta(eventId, new Delta(0, 1, -1, amount));
+            queueBucketDelta(eventId, bookingTime, new BucketDelta(0, amount));
+        });
+    }
+
+    public void pendingReleased(int eventId, int bookings) {
+        afterCommit(() -> queueEventDelta(eventId, new Delta(0, 0, -bookings, 0)));
+    }
+
+    public void confirmedCancelled(int eventId, LocalDateTime bookingTime, double amount) {
+        afterCommit(() -> {
+            queueEventDelta(eventId, new Delta(0, -1, 0, -amount));
+            queueBucketDelta(eventId, bookingTime, new BucketDelta(0, -amount));
+        });
+    }
+
+    // A rolled back booking change queues nothing
+    private void afterCommit(Runnable queue) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.run();
+            }
+        });
+    }
+
+    private void queueEventDelta(int eventId, Delta delta) {
+        pendingEventDeltas.merge(eventId, delta, Delta::plus);
+    }
+
+    // Summed per minute; the flush adds each minute to its hour and day as well
+    private void queueBucketDelta(int eventId, LocalDateTime bookingTime, BucketDelta delta) {
+        if (bookingTime != null) {
+            pendingBucketDeltas.merge(new BucketKey(eventId, SeriesGranularity.MINUTE.truncate(bookingTime)), delta,
+                    BucketDelta::plus);
+        }
+    }
+
+    // Each row gets one update for everything queued since the last run. A delta whose write
+    // fails is put back for the next run; event deltas reach the organizer once written
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:1000}")
+    public void flushDeltas() {
+        flushLock.lock();
+        try {
+            for (Integer eventId : pendingEventDeltas.keySet()) {
+                Delta delta = pendingEventDeltas.remove(eventId);
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    if (!eventStatsDao.applyDelta(eventId, delta.total(), delta.confirmed(), delta.pending(),
+                            delta.revenue())) {
+                        log.warn("No stats row for event {}; the next rebuild will count its bookings", eventId);
+                        continue;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to update stats of event {}", eventId, e);
+                    pendingEventDeltas.merge(eventId, delta, Delta::plus);
+                    continue;
+                }
+                Integer organizerId = organizerIds.computeIfAbsent(eventId,
+                        id -> eventStatsDao.findOrganizerId(id).orElse(null));
+                if (organizerId != null) {
+                    pendingOrganizerDeltas.merge(organizerId, delta, Delta::plus);
+                }
+            }
+
+            for (BucketKey key : pendingBucketDeltas.keySet()) {
+                BucketDelta delta = pendingBucketDeltas.remove(key);
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    bookingBucketDao.addToBuckets(key.eventId(), key.minute(), delta.bookings(), delta.revenue());
+                } catch (RuntimeException e) {
+                    log.error("Failed to update the booking series of event {}", key.eventId(), e);
+                    pendingBucketDeltas.merge(key, delta, BucketDelta::plus);
+                }
+            }
+
+            for (Integer organizerId : pendingOrganizerDeltas.keySet()) {
+                Delta delta = pendingOrganizerDeltas.remove(organizerId);
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    organizerStatsDao.applyDelta(organizerId, delta.total(), delta.confirmed(), delta.pending(),
+                            delta.revenue());
+                } catch (RuntimeException e) {
+                    log.error("Failed to update stats of organizer {}", organizerId, e);
+                    pendingOrganizerDeltas.merge(organizerId, delta, Delta::plus);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushDeltas();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        if (eventStatsDao.countStats() < eventDao.countEvents()) {
+            rebuild();
+        }
+    }
+
+    // Best run off-peak, as it locks the bookings it reads. Tables are taken event first, then
+    // organizer, like the flush. Deltas pending when the bookings have been read are already
+    // counted; bookings changed after that wait for the rebuild to commit.
+    @Scheduled(cron = "${app.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        flushLock.lock();
+        try {
+            int events = transactionTemplate.execute(status -> {
+                eventStatsDao.deleteAllStats();
+                organizerStatsDao.deleteAllStats();
+                int rows = eventStatsDao.rebuildAll();
+                organizerStatsDao.rebuildAll();
+                bookingBucketDao.deleteAllBuckets();
+                bookingBucketDao.rebuildAll();
+                pendingEventDeltas.clear();
+                pendingBucketDeltas.clear();
+                pendingOrganizerDeltas.clear();
+                return rows;
+            });
+            log.info("Rebuilt booking stats for {} events", events);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private record Delta(long total, long confirmed, long pending, double revenue) {
+
+        Delta plus(Delta other) {
+            return new Delta(total + other.total, confirmed + other.confirmed, pending + other.pending,
+                    revenue + other.revenue);
+        }
+    }
+
+    private record BucketKey(int eventId, LocalDateTime minute) {
+    }
+
+    private record BucketDelta(long bookings, double revenue) {
+
+        BucketDelta plus(BucketDelta other) {
+            return new BucketDelta(bookings + other.bookings, revenue + other.revenue);
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.example.eventmanagement.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.eventmanagement.dao.BookingDao;
 import com.example.eventmanagement.dao.EventDao;
 import com.example.eventmanagement.dao.TicketDao;
 import com.example.eventmanagement.dao.UserDao;
+import com.example.eventmanagement.dto.BatchBookingItem;
+import com.example.eventmanagement.dto.BatchBookingRequest;
+import com.example.eventmanagement.dto.CursorPage;
 import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.exception.DuplicateBookingException;
+import com.example.eventmanagement.exception.EventNotFoundException;
+import com.example.eventmanagement.exception.UserNotFoundException;
+import com.example.eventmanagement.util.EventStatus;
+import com.example.eventmanagement.util.KeysetCursor;
 import com.example.eventmanagement.util.PaymentStatus;
 import com.example.eventmanagement.util.TicketStatus;
 import com.example.eventmanagement.model.Booking;
@@ -22,6 +39,9 @@ import com.example.eventmanagement.model.User;
 @Service
 public class TicketService {
 
+    private static final int DEFAULT_TICKET_PAGE_SIZE = 20;
+    private static final int MAX_TICKET_PAGE_SIZE = 100;
+
     @Autowired
     private UserDao userDao;
 
@@ -34,66 +54,257 @@ public class TicketService {
     @Autowired
     private TicketDao ticketDao;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private TicketTokenService ticketTokenService;
+
+    @Autowired
+    private CheckInService checkInService;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Value("${app.booking.max-seats-per-booking:10}")
+    private int maxSeatsPerBooking;
+
+    @RetryOnConflict
+    @Transactional
     public ResponseStructure<Ticket> bookEvent(int userId, int eventId) {
 
-        User user = userDao.findVerifiedUserById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Seats freed while people are waiting belong to the waitlist
+        if (waitlistService.hasWaiters(eventId)) {
+            throw new RuntimeException("Event is fully booked");
+        }
+
+        Ticket ticket = holdSeat(userId, eventId)
+                .orElseThrow(() -> new RuntimeException("Event is fully booked"));
+
+        return ResponseStructure.<Ticket>builder()
+                .statusCode(HttpStatus.CREATED.value())
+                .message("Ticket booked successfully. Please complete payment to confirm.")
+                .data(ticket)
+                .build();
+    }
 
+    // One seat each for a batch of flash-sale users, in a single transaction. Users that cannot
+    // be booked get their error response; a conflict none of the checks caught rolls back the batch
+    @RetryOnConflict
+    @Transactional
+    public Map<Integer, ResponseStructure<Ticket>> bookForUsers(int eventId, Collection<Integer> userIds) {
         Event event = eventDao.findEventById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-
-        // Check if event has max attendees limit
-        if (event.getMaxAttendees() != null) {
-            long currentBookings = bookingDao.findByEvent_EventId(eventId).stream()
-                    .filter(b -> b.getPaymentStatus() == PaymentStatus.COMPLETED)
-                    .count();
-            
-            if (currentBookings >= event.getMaxAttendees()) {
-                throw new RuntimeException("Event is fully booked");
+                .orElseThrow(() -> new EventNotFoundException("Event not found"));
+        Map<Integer, User> users = userDao.findVerifiedUsersByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, u -> u));
+        Map<Integer, Booking> existingBookings = bookingDao.findByEventAndUsers(eventId, userIds).stream()
+                .collect(Collectors.toMap(b -> b.getUser().getUserId(), b -> b));
+        boolean waiters = waitlistService.hasWaiters(eventId);
+
+        Map<Integer, ResponseStructure<Ticket>> results = new LinkedHashMap<>();
+        for (int userId : userIds) {
+            User user = users.get(userId);
+            Booking existing = existingBookings.get(userId);
+            if (user == null) {
+                results.put(userId, rejected(HttpStatus.BAD_REQUEST, "User not found"));
+            } else if (existing != null && existing.getPaymentStatus() != PaymentStatus.FAILED) {
+                results.put(userId, rejected(HttpStatus.CONFLICT, "You have already booked this event"));
+            } else if (waiters || !seatInventoryService.tryHold(event, 1)) {
+                results.put(userId, rejected(HttpStatus.BAD_REQUEST, "Event is fully booked"));
+            } else {
+                results.put(userId, ResponseStructure.<Ticket>builder()
+                        .statusCode(HttpStatus.CREATED.value())
+                        .message("Ticket booked successfully. Please complete payment to confirm.")
+                        .data(createPendingBooking(user, event, existing, 1).get(0))
+                        .build());
             }
         }
+        return results;
+    }
 
-        // Check if user already booked this event
-        boolean alreadyBooked = bookingDao.findByUser_UserId(userId).stream()
-                .anyMatch(b -> b.getEvent().getEventId() == eventId);
-        
-        if (alreadyBooked) {
-            throw new RuntimeException("You have already booked this event");
+    private static ResponseStructure<Ticket> rejected(HttpStatus status, String message) {
+        return ResponseStructure.<Ticket>builder()
+                .statusCode(status.value())
+                .message(message)
+                .build();
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public Optional<Ticket> bookFromWaitlist(int userId, int eventId) {
+        // Loaded once; holdSeat finds it in the persistence context
+        Event event = eventDao.findEventById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event not found"));
+        if (event.getEventStatus() == EventStatus.CANCELLED || event.getEventStatus() == EventStatus.COMPLETED) {
+            throw new EventNotFoundException("Event is no longer open for booking");
         }
+        return holdSeat(userId, eventId);
+    }
 
-        Booking booking = Booking.builder()
-        	    .user(user)
-        	    .event(event)
-        	    .paymentStatus(PaymentStatus.PENDING)
-        	    .bookingTime(LocalDateTime.now())
-        	    .build();
+    // Empty when the event has no seat left
+    private Optional<Ticket> holdSeat(int userId, int eventId) {
+        User user = userDao.findVerifiedUserById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        bookingDao.createBooking(booking);
+        Event event = eventDao.findEventById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event not found"));
 
-        Ticket ticket = Ticket.builder()
-                .booking(booking)
-                .ticketStatus(TicketStatus.BOOKED)
-                .build();
+        if (seatInventoryService.isSoldOut(event)) {
+            return Optional.empty();
+        }
 
-        ticketDao.saveTicket(ticket);
+        // One booking row per user and event; an expired or cancelled one is reused
+        Booking existing = bookingDao.findByUserAndEvent(userId, eventId).orElse(null);
+        if (existing != null && existing.getPaymentStatus() != PaymentStatus.FAILED) {
+            throw new DuplicateBookingException("You have already booked this event");
+        }
 
-        return ResponseStructure.<Ticket>builder()
+        if (!seatInventoryService.tryHold(event, 1)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(createPendingBooking(user, event, existing, 1).get(0));
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public ResponseStructure<List<Ticket>> bookSeats(BatchBookingRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("At least one event is required");
+        }
+
+        User user = userDao.findVerifiedUserById(request.getUserId())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        // Ascending event ids, so concurrent batches lock the event rows in the same order
+        Map<Integer, Integer> seatsByEvent = new TreeMap<>();
+        for (BatchBookingItem item : request.getItems()) {
+            if (item.getQuantity() <= 0) {
+                throw new RuntimeException("Quantity must be at least 1");
+            }
+            seatsByEvent.merge(item.getEventId(), item.getQuantity(), Integer::sum);
+        }
+        if (seatsByEvent.values().stream().anyMatch(seats -> seats > maxSeatsPerBooking)) {
+            throw new RuntimeException("At most " + maxSeatsPerBooking + " seats can be booked per event");
+        }
+
+        Map<Integer, Event> events = eventDao.findEventsByIds(seatsByEvent.keySet()).stream()
+                .collect(Collectors.toMap(Event::getEventId, e -> e));
+        Map<Integer, Booking> existingBookings = bookingDao.findByUserAndEvents(user.getUserId(), seatsByEvent.keySet())
+                .stream()
+                .collect(Collectors.toMap(b -> b.getEvent().getEventId(), b -> b));
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : seatsByEvent.entrySet()) {
+            Event event = events.get(entry.getKey());
+            if (event == null) {
+                throw new EventNotFoundException("Event not found");
+            }
+
+            Booking existing = existingBookings.get(event.getEventId());
+            if (existing != null && existing.getPaymentStatus() != PaymentStatus.FAILED) {
+                throw new DuplicateBookingException("You have already booked " + event.getEventName());
+            }
+
+            if (waitlistService.hasWaiters(event.getEventId())
+                    || !seatInventoryService.tryHold(event, entry.getValue())) {
+                throw new RuntimeException("Not enough seats left for " + event.getEventName());
+            }
+
+            tickets.addAll(createPendingBooking(user, event, existing, entry.getValue()));
+        }
+
+        return ResponseStructure.<List<Ticket>>builder()
                 .statusCode(HttpStatus.CREATED.value())
-                .message("Ticket booked successfully. Please complete payment to confirm.")
-                .data(ticket)
+                .message("Tickets booked successfully. Please complete payment to confirm.")
+                .data(tickets)
                 .build();
     }
 
+    // Writes the pending booking for seats already held, with one BOOKED ticket per seat
+    private List<Ticket> createPendingBooking(User user, Event event, Booking existing, int seats) {
+        Booking booking = existing != null ? existing : Booking.builder().user(user).event(event).build();
+        LocalDateTime previousBookingTime = booking.getBookingTime();
+        booking.setPaymentStatus(PaymentStatus.PENDING);
+        booking.setBookingTime(LocalDateTime.now());
+        booking.setHoldExpiresAt(seatHoldService.newHoldExpiry());
+        booking.setSeatCount(seats);
+        booking.setAmountPaid(null);
+
+        List<Ticket> tickets = new ArrayList<>();
+        if (existing != null) {
+            bookingDao.updateBooking(booking);
+            tickets.addAll(ticketDao.findByBookingId(booking.getBookingId()));
+            statsService.bookingReopened(event.getEventId(), previousBookingTime, booking.getBookingTime());
+        } else {
+            bookingDao.createBooking(booking);
+            statsService.bookingCreated(event.getEventId(), booking.getBookingTime());
+        }
+        seatHoldService.track(booking);
+
+        for (int seat = 1; seat <= seats; seat++) {
+            if (tickets.size() < seat) {
+                tickets.add(Ticket.builder().booking(booking).build());
+            }
+            Ticket ticket = tickets.get(seat - 1);
+            ticket.setSeatNumber(seat);
+            ticket.setTicketStatus(TicketStatus.BOOKED);
+        }
+        // Extra tickets left over from a larger earlier booking stay cancelled
+        List<Ticket> seatTickets = tickets.subList(0, seats);
+        return ticketDao.saveTickets(seatTickets);
+    }
+
+    @RetryOnConflict
+    @Transactional
     public ResponseStructure<Ticket> confirmTicket(int ticketId) {
         Ticket ticket = ticketDao.findTicketById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
         Booking booking = ticket.getBooking();
+        if (booking.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            return ResponseStructure.<Ticket>builder()
+                    .statusCode(HttpStatus.OK.value())
+                    .message("Ticket already confirmed")
+                    .data(ticket)
+                    .build();
+        }
+        if (ticket.getTicketStatus() == TicketStatus.CANCELLED) {
+            throw new RuntimeException("Ticket has been cancelled");
+        }
+
+        if (booking.getPaymentStatus() != PaymentStatus.PENDING
+                || (booking.getHoldExpiresAt() != null && !booking.getHoldExpiresAt().isAfter(LocalDateTime.now()))) {
+            throw new RuntimeException("Booking hold has expired. Please book again.");
+        }
+
+        // A concurrent confirm or hold expiry fails the version check and the call is retried
+        Event event = booking.getEvent();
         booking.setPaymentStatus(PaymentStatus.COMPLETED);
+        booking.setHoldExpiresAt(null);
+        booking.setAmountPaid(booking.getSeatCount() * event.getTicketPrice());
         bookingDao.updateBooking(booking);
 
-        ticket.setTicketStatus(TicketStatus.ACTIVE);
-        ticketDao.saveTicket(ticket);
+        if (!seatInventoryService.confirmHeld(event.getEventId(), booking.getSeatCount())) {
+            throw new RuntimeException("Event is fully booked");
+        }
+        statsService.bookingConfirmed(event.getEventId(), booking.getBookingTime(), booking.getAmountPaid());
+
+        // Payment covers every seat of the booking; their codes are written in the same batch
+        List<Ticket> bookingTickets = ticketDao.findByBookingId(booking.getBookingId()).stream()
+                .filter(t -> t.getTicketStatus() == TicketStatus.BOOKED)
+                .toList();
+        bookingTickets.forEach(t -> {
+            t.setTicketStatus(TicketStatus.ACTIVE);
+            t.setTicketCode(ticketTokenService.issue(t));
+        });
+        ticketDao.saveTickets(bookingTickets);
 
         return ResponseStructure.<Ticket>builder()
                 .statusCode(HttpStatus.OK.value())
@@ -102,14 +313,70 @@ public class TicketService {
                 .build();
     }
 
+    @RetryOnConflict
+    @Transactional
+    public ResponseStructure<Ticket> cancelTicket(int ticketId, int userId) {
+        Ticket ticket = ticketDao.findTicketById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+
+        Booking booking = ticket.getBooking();
+        if (booking.getUser().getUserId() != userId) {
+            throw new RuntimeException("Unauthorized cancellation");
+        }
+        if (booking.getPaymentStatus() == PaymentStatus.FAILED || ticket.getTicketStatus() == TicketStatus.CANCELLED) {
+            throw new RuntimeException("Ticket has already been cancelled");
+        }
+
+        // The whole booking is cancelled and refunded, every seat of it, so any used seat blocks it.
+        // A seat admitted at the door but not yet written back as USED counts as used; otherwise
+        // the booking's seats stop scanning here.
+        int eventId = booking.getEvent().getEventId();
+        List<Ticket> bookingTickets = ticketDao.findByBookingId(booking.getBookingId()).stream()
+                .filter(t -> t.getTicketStatus() != TicketStatus.CANCELLED)
+                .toList();
+        if (bookingTickets.stream().anyMatch(t -> t.getTicketStatus() == TicketStatus.USED)
+                || !checkInService.revoke(eventId, bookingTickets.stream().map(Ticket::getTicketId).toList())) {
+            throw new RuntimeException("Ticket has already been used");
+        }
+
+        PaymentStatus previousStatus = booking.getPaymentStatus();
+        // Bookings from before seat holds existed never held a seat
+        boolean seatsHeld = previousStatus == PaymentStatus.PENDING && booking.getHoldExpiresAt() != null;
+
+        // Marked FAILED like an expired hold so the user can book again; a racing expiry fails the version check
+        booking.setPaymentStatus(PaymentStatus.FAILED);
+        booking.setHoldExpiresAt(null);
+        bookingDao.updateBooking(booking);
+
+        bookingTickets.forEach(t -> {
+            t.setTicketStatus(TicketStatus.CANCELLED);
+            t.setTicketCode(null);
+        });
+        ticketDao.saveTickets(bookingTickets);
+
+        if (previousStatus == PaymentStatus.COMPLETED) {
+            seatInventoryService.releaseSold(eventId, booking.getSeatCount());
+            // The amount charged is reversed, whatever the ticket price is now
+            statsService.confirmedCancelled(eventId, booking.getBookingTime(), booking.getAmountPaid());
+        } else {
+            if (seatsHeld) {
+                seatInventoryService.release(eventId, booking.getSeatCount());
+            }
+            statsService.pendingReleased(eventId, 1);
+        }
+
+        return ResponseStructure.<Ticket>builder()
+                .statusCode(HttpStatus.OK.value())
+                .message("Booking cancelled")
+                .data(ticket)
+                .build();
+    }
+
     public ResponseStructure<List<Ticket>> getUserTickets(int userId) {
         User user = userDao.findUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Ticket> tickets = bookingDao.findByUser_UserId(userId).stream()
-                .map(booking -> ticketDao.findByBookingId(booking.getBookingId()).orElse(null))
-                .filter(ticket -> ticket != null)
-                .toList();
+        List<Ticket> tickets = ticketDao.findUserTickets(userId);
 
         return ResponseStructure.<List<Ticket>>builder()
                 .statusCode(HttpStatus.OK.value())
@@ -117,4 +384,42 @@ public class TicketService {
                 .data(tickets)
                 .build();
     }
+
+    public ResponseStructure<CursorPage<Ticket>> getUserTicketsPage(int userId, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size, DEFAULT_TICKET_PAGE_SIZE, MAX_TICKET_PAGE_SIZE);
+
+        List<Ticket> tickets;
+        if (cursor == null || cursor.isBlank()) {
+            tickets = ticketDao.findUserTickets(userId, pageSize + 1);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 3);
+            LocalDateTime bookingTime;
+            int bookingId;
+            int ticketId;
+            try {
+                bookingTime = LocalDateTime.parse(keys[0]);
+                bookingId = Integer.parseInt(keys[1]);
+                ticketId = Integer.parseInt(keys[2]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            tickets = ticketDao.findUserTicketsBefore(userId, bookingTime, bookingId, ticketId, pageSize + 1);
+        }
+
+        boolean hasMore = tickets.size() > pageSize;
+        List<Ticket> items = hasMore ? tickets.subList(0, pageSize) : tickets;
+        String nextCursor = null;
+        if (hasMore) {
+            // A page can end partway through a multi-seat booking, so the cursor carries the ticket id too
+            Ticket last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getBooking().getBookingTime(), last.getBooking().getBookingId(),
+                    last.getTicketId());
+        }
+
+        return ResponseStructure.<CursorPage<Ticket>>builder()
+                .statusCode(HttpStatus.OK.value())
+                .message("User tickets retrieved")
+                .data(CursorPage.<Ticket>builder().items(items).nextCursor(nextCursor).hasMore(hasMore).build())
+                .build();
+    }
 }
@@ -0,0 +1,141 @@
+package com.example.eventmanagement.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.dto.TicketClaims;
+import com.example.eventmanagement.model.Ticket;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ticket codes are a version byte, ticket id, event id and seat followed by a truncated
+ * HMAC-SHA256 of those bytes, base64url encoded (36 characters). Anyone holding the
+ * secret can check a code without the database.
+ */
+@Service
+@Slf4j
+public class TicketTokenService {
+
+    private static final byte TOKEN_VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 4 + 4 + 2;
+    private static final int MAC_LENGTH = 16;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private TicketDao ticketDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.ticket.token-secret}")
+    private String tokenSecret;
+
+    private SecretKeySpec key;
+
+    // Mac instances are not thread-safe
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() {
+        byte[] secret = tokenSecret.getBytes(StandardCharsets.UTF_8);
+        if (secret.length < 32) {
+            throw new IllegalStateException("app.ticket.token-secret must be at least 32 bytes");
+        }
+        key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    public String issue(Ticket ticket) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + MAC_LENGTH)
+                .put(TOKEN_VERSION)
+                .putInt(ticket.getTicketId())
+                .putInt(ticket.getBooking().getEvent().getEventId())
+                .putShort(ticket.getSeatNumber() != null ? ticket.getSeatNumber().shortValue() : 1);
+        buffer.put(sign(buffer.array()), 0, MAC_LENGTH);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    // Empty for malformed, foreign or tampered codes
+    public Optional<TicketClaims> verify(String token) {
+        if (token == null || token.length() > 64) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != PAYLOAD_LENGTH + MAC_LENGTH || bytes[0] != TOKEN_VERSION) {
+            return Optional.empty();
+        }
+
+        byte[] expected = Arrays.copyOf(sign(bytes), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+        return Optional.of(TicketClaims.builder()
+                .ticketId(buffer.getInt())
+                .eventId(buffer.getInt())
+                .seatNumber(buffer.getShort())
+                .build());
+    }
+
+    // Tickets paid before codes existed, a batch per transaction so the codes are flushed from managed entities
+    @EventListener(ApplicationReadyEvent.class)
+    public void issueMissingCodes() {
+        int issued = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Ticket> tickets = ticketDao.findActiveTicketsWithoutCode(BACKFILL_BATCH_SIZE);
+                tickets.forEach(ticket -> ticket.setTicketCode(issue(ticket)));
+                return tickets.size();
+            });
+            issued += batch;
+        } while (batch == BACKFILL_BATCH_SIZE);
+        if (issued > 0) {
+            log.info("Issued codes for {} existing tickets", issued);
+        }
+    }
+
+    // Signs the payload at the start of the token
+    private byte[] sign(byte[] token) {
+        Mac mac = macs.get();
+        mac.update(token, 0, PAYLOAD_LENGTH);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
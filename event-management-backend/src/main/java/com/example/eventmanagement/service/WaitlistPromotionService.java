@@ -0,0 +1,116 @@
+package com.example.eventmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.eventmanagement.dto.EmailConfiguration;
+import com.example.eventmanagement.exception.DuplicateBookingException;
+import com.example.eventmanagement.exception.EventNotFoundException;
+import com.example.eventmanagement.exception.UserNotFoundException;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.service.WaitlistService.Waiter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives seats freed by expired holds, cancellations and capacity increases to the head
+ * of each event's waitlist. Promoted users get an ordinary seat hold and are emailed in
+ * batches.
+ */
+@Service
+@Slf4j
+public class WaitlistPromotionService {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.waitlist.notify-batch-size:50}")
+    private int notifyBatchSize;
+
+    private final ConcurrentLinkedQueue<EmailConfiguration> notifications = new ConcurrentLinkedQueue<>();
+
+    @Scheduled(fixedDelayString = "${app.waitlist.promote-interval-ms:5000}")
+    public void promoteWaiters() {
+        for (int eventId : waitlistService.takeReleasedEvents()) {
+            int promoted = 0;
+            Optional<Waiter> next;
+            while ((next = waitlistService.peek(eventId)).isPresent()) {
+                if (!promote(eventId, next.get())) {
+                    break;
+                }
+                promoted++;
+            }
+            if (promoted > 0) {
+                log.info("Promoted {} waitlisted users for event {}", promoted, eventId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.notify-interval-ms:10000}")
+    public void sendNotifications() {
+        List<EmailConfiguration> batch = new ArrayList<>(notifyBatchSize);
+        EmailConfiguration mail;
+        while ((mail = notifications.poll()) != null) {
+            batch.add(mail);
+            if (batch.size() == notifyBatchSize) {
+                send(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    // False once the event has no seat left for the next in line, or promoting them failed for now
+    private boolean promote(int eventId, Waiter waiter) {
+        Ticket ticket;
+        try {
+            Optional<Ticket> held = ticketService.bookFromWaitlist(waiter.userId(), eventId);
+            if (held.isEmpty()) {
+                return false;
+            }
+            ticket = held.get();
+        } catch (DuplicateBookingException | EventNotFoundException | UserNotFoundException e) {
+            // Already booked, user or event gone, or the event is over: this entry can never be served
+            log.debug("Dropping waitlist entry {}: {}", waiter.entryId(), e.getMessage());
+            waitlistService.remove(eventId, waiter.entryId());
+            return true;
+        } catch (RuntimeException e) {
+            // The waiter keeps their place and the event is tried again on the next run
+            log.warn("Could not promote waitlist entry {}: {}", waiter.entryId(), e.getMessage());
+            waitlistService.markSeatsReleased(eventId);
+            return false;
+        }
+
+        waitlistService.remove(eventId, waiter.entryId());
+        notifications.add(EmailConfiguration.builder()
+                .to(ticket.getBooking().getUser().getEmail())
+                .subject("A seat opened up for " + ticket.getBooking().getEvent().getEventName())
+                .body("A seat is now held for you (ticket #" + ticket.getTicketId() + "). Complete payment before "
+                        + ticket.getBooking().getHoldExpiresAt() + " to keep it.")
+                .build());
+        return true;
+    }
+
+    private void send(List<EmailConfiguration> batch) {
+        try {
+            emailService.sendMails(batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not send {} waitlist notifications: {}", batch.size(), e.getMessage());
+        }
+    }
+}
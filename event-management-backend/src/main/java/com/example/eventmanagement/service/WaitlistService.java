@@ -0,0 +1,223 @@
+package com.example.eventmanagement.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.dao.BookingDao;
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dao.UserDao;
+import com.example.eventmanagement.dao.WaitlistEntryDao;
+import com.example.eventmanagement.dto.ResponseStructure;
+import com.example.eventmanagement.dto.WaitlistResponse;
+import com.example.eventmanagement.exception.DuplicateBookingException;
+import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.User;
+import com.example.eventmanagement.model.WaitlistEntry;
+import com.example.eventmanagement.util.PaymentStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FIFO waitlist per sold-out event. The waitlist_entries table survives restarts and an
+ * in-memory sorted set per event answers positions and the next in line without a query.
+ * Entries are deleted once the user is promoted or leaves.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    @Autowired
+    private WaitlistEntryDao waitlistEntryDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private BookingDao bookingDao;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    // Events that freed seats since the last promotion run
+    private final Set<Integer> releasedEvents = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlists() {
+        List<Object[]> rows = waitlistEntryDao.findAllInJoinOrder();
+        for (Object[] row : rows) {
+            queueFor((Integer) row[1]).add(new Waiter((Integer) row[0], (Integer) row[2]));
+        }
+        // Seats may have been freed while the application was down
+        releasedEvents.addAll(waiters.keySet());
+        log.info("Loaded {} waitlist entries", rows.size());
+    }
+
+    public ResponseStructure<WaitlistResponse> join(int userId, int eventId) {
+        User user = userDao.findVerifiedUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Event event = eventDao.findEventById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        Optional<WaitlistEntry> existing = waitlistEntryDao.findByUserAndEvent(userId, eventId);
+        if (existing.isPresent()) {
+            return waitlistResponse(eventId, userId, positionOf(eventId, existing.get().getEntryId()),
+                    "You are already on the waitlist");
+        }
+
+        Booking booking = bookingDao.findByUserAndEvent(userId, eventId).orElse(null);
+        if (booking != null && booking.getPaymentStatus() != PaymentStatus.FAILED) {
+            throw new DuplicateBookingException("You have already booked this event");
+        }
+        if (!hasWaiters(eventId) && !seatInventoryService.isSoldOut(event)) {
+            throw new RuntimeException("Seats are still available. Please book a ticket instead.");
+        }
+
+        WaitlistEntry entry;
+        try {
+            entry = waitlistEntryDao.saveEntry(WaitlistEntry.builder()
+                    .user(user)
+                    .event(event)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another join for the same user
+            entry = waitlistEntryDao.findByUserAndEvent(userId, eventId).orElseThrow(() -> e);
+        }
+        queueFor(eventId).add(new Waiter(entry.getEntryId(), userId));
+
+        return waitlistResponse(eventId, userId, positionOf(eventId, entry.getEntryId()),
+                "You have joined the waitlist");
+    }
+
+    public ResponseStructure<WaitlistResponse> getPosition(int userId, int eventId) {
+        WaitlistEntry entry = waitlistEntryDao.findByUserAndEvent(userId, eventId)
+                .orElseThrow(() -> new RuntimeException("You are not on the waitlist for this event"));
+
+        return waitlistResponse(eventId, userId, positionOf(eventId, entry.getEntryId()), "Waitlist position");
+    }
+
+    public ResponseStructure<WaitlistResponse> leave(int userId, int eventId) {
+        WaitlistEntry entry = waitlistEntryDao.findByUserAndEvent(userId, eventId)
+                .orElseThrow(() -> new RuntimeException("You are not on the waitlist for this event"));
+
+        remove(eventId, entry.getEntryId());
+        return waitlistResponse(eventId, userId, 0, "You have left the waitlist");
+    }
+
+    // The in-memory queue is dropped once the deletion commits, so a rolled back delete keeps it
+    public void clear(int eventId) {
+        waitlistEntryDao.deleteByEvent(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forget(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                forget(eventId);
+            }
+        });
+    }
+
+    private void forget(int eventId) {
+        waiters.remove(eventId);
+        releasedEvents.remove(eventId);
+    }
+
+    public boolean hasWaiters(int eventId) {
+        ConcurrentSkipListSet<Waiter> queue = waiters.get(eventId);
+        return queue != null && !queue.isEmpty();
+    }
+
+    public Optional<Waiter> peek(int eventId) {
+        ConcurrentSkipListSet<Waiter> queue = waiters.get(eventId);
+        if (queue == null || queue.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(queue.first());
+    }
+
+    public void remove(int eventId, int entryId) {
+        waitlistEntryDao.deleteEntry(entryId);
+        ConcurrentSkipListSet<Waiter> queue = waiters.get(eventId);
+        if (queue != null) {
+            queue.remove(new Waiter(entryId, 0));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReleased(SeatInventoryService.SeatsReleased released) {
+        markSeatsReleased(released.eventId());
+    }
+
+    public void markSeatsReleased(int eventId) {
+        if (hasWaiters(eventId)) {
+            releasedEvents.add(eventId);
+        }
+    }
+
+    public List<Integer> takeReleasedEvents() {
+        List<Integer> events = new ArrayList<>(releasedEvents);
+        releasedEvents.removeAll(events);
+        return events;
+    }
+
+    private long positionOf(int eventId, int entryId) {
+        ConcurrentSkipListSet<Waiter> queue = waiters.get(eventId);
+        if (queue == null) {
+            return 0;
+        }
+        return queue.headSet(new Waiter(entryId, 0)).size() + 1;
+    }
+
+    private ConcurrentSkipListSet<Waiter> queueFor(int eventId) {
+        return waiters.computeIfAbsent(eventId, id -> new ConcurrentSkipListSet<>());
+    }
+
+    private ResponseStructure<WaitlistResponse> waitlistResponse(int eventId, int userId, long position,
+            String message) {
+        WaitlistResponse response = WaitlistResponse.builder()
+                .eventId(eventId)
+                .userId(userId)
+                .position(position)
+                .message(message)
+                .build();
+
+        return ResponseStructure.<WaitlistResponse>builder()
+                .statusCode(HttpStatus.OK.value())
+                .message(message)
+                .data(response)
+                .build();
+    }
+
+    // Ordered by entry id only, so lookups by id work with any user id
+    public record Waiter(int entryId, int userId) implements Comparable<Waiter> {
+
+        @Override
+        public int compareTo(Waiter other) {
+            return Integer.compare(entryId, other.entryId);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.eventmanagement.util;
+
+public enum AdmissionStatus {
+	QUEUED, BOOKED, REJECTED
+}
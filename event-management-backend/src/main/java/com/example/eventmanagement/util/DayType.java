@@ -0,0 +1,13 @@
+package com.example.eventmanagement.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+public enum DayType {
+	WEEKDAY, WEEKEND;
+
+	public static DayType of(LocalDate date) {
+		DayOfWeek day = date.getDayOfWeek();
+		return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? WEEKEND : WEEKDAY;
+	}
+}
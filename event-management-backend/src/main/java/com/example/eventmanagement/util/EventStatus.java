@@ -1,5 +1,15 @@
 package com.example.eventmanagement.util;
 
+import java.time.LocalDate;
+
 public enum EventStatus {
-	CREATED, UPDATED, CANCELLED, COMPLETED, UPCOMING
-}
\ No newline at end of file
+	CREATED, UPDATED, CANCELLED, COMPLETED, UPCOMING, ONGOING;
+
+	// Where an event dated eventDate stands today; CREATED and UPDATED are only left on older rows
+	public static EventStatus forDate(LocalDate eventDate, LocalDate today) {
+		if (eventDate.isBefore(today)) {
+			return COMPLETED;
+		}
+		return eventDate.isEqual(today) ? ONGOING : UPCOMING;
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.eventmanagement.util;
+
+public enum PriceBand {
+	UNDER_500(0, 500),
+	FROM_500_TO_2000(500, 2000),
+	OVER_2000(2000, Double.POSITIVE_INFINITY);
+
+	private final double min;
+	private final double max;
+
+	PriceBand(double min, double max) {
+		this.min = min;
+		this.max = max;
+	}
+
+	// Lower bound included, upper bound excluded
+	public static PriceBand of(double ticketPrice) {
+		for (PriceBand band : values()) {
+			if (ticketPrice < band.max) {
+				return band;
+			}
+		}
+		return OVER_2000;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+}
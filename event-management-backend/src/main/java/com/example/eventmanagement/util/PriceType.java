@@ -0,0 +1,9 @@
+package com.example.eventmanagement.util;
+
+public enum PriceType {
+	FREE, PAID;
+
+	public static PriceType of(double ticketPrice) {
+		return ticketPrice > 0 ? PAID : FREE;
+	}
+}
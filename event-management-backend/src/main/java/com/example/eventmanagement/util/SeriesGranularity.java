@@ -0,0 +1,36 @@
+package com.example.eventmanagement.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum SeriesGranularity {
+	MINUTE(ChronoUnit.MINUTES, Duration.ofHours(1)),
+	HOUR(ChronoUnit.HOURS, Duration.ofDays(2)),
+	DAY(ChronoUnit.DAYS, Duration.ofDays(30));
+
+	private final ChronoUnit unit;
+	private final Duration defaultRange;
+
+	SeriesGranularity(ChronoUnit unit, Duration defaultRange) {
+		this.unit = unit;
+		this.defaultRange = defaultRange;
+	}
+
+	public LocalDateTime truncate(LocalDateTime time) {
+		return time.truncatedTo(unit);
+	}
+
+	public LocalDateTime next(LocalDateTime bucketStart) {
+		return bucketStart.plus(1, unit);
+	}
+
+	// Bucket starts from..to, both ends included
+	public long bucketsBetween(LocalDateTime from, LocalDateTime to) {
+		return unit.between(from, to) + 1;
+	}
+
+	public Duration getDefaultRange() {
+		return defaultRange;
+	}
+}
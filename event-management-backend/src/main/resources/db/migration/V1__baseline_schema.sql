@@ -0,0 +1,183 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update created it before migrations took over.
+-- Databases it created are baselined at this version instead of running it.
+
+create table bookings (
+    booking_id integer not null auto_increment,
+    event_id integer,
+    user_id integer,
+    booking_time datetime(6),
+    payment_status enum ('COMPLETED','FAILED','PENDING','SUCCESS'),
+    primary key (booking_id)
+) engine=InnoDB;
+
+create table email_verification_tokens (
+    token_id integer not null auto_increment,
+    used bit not null,
+    user_id integer,
+    expiry_time datetime(6) not null,
+    generated_at datetime(6) not null,
+    token varchar(255) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create table events (
+    created_at date,
+    creator_id integer,
+    event_date date not null,
+    event_id integer not null auto_increment,
+    event_time time(0) not null,
+    max_attendees integer,
+    ticket_price float(53) not null,
+    description varchar(1000),
+    event_image_url varchar(255),
+    event_name varchar(255) not null,
+    venue varchar(255) not null,
+    event_category enum ('BUSINESS','CHARITY','CONCERT','CONFERENCE','EDUCATIONAL','ENTERTAINMENT','OTHER','SOCIAL','SPORTS','WORKSHOP'),
+    event_status enum ('CANCELLED','COMPLETED','CREATED','UPCOMING','UPDATED'),
+    privacy_settings enum ('INVITE_ONLY','PRIVATE','PUBLIC'),
+    primary key (event_id)
+) engine=InnoDB;
+
+create table forum_comments (
+    author_id integer,
+    comment_id integer not null auto_increment,
+    post_id integer,
+    created_at datetime(6),
+    content varchar(1000) not null,
+    primary key (comment_id)
+) engine=InnoDB;
+
+create table forum_posts (
+    author_id integer,
+    event_id integer,
+    post_id integer not null auto_increment,
+    created_at datetime(6),
+    updated_at datetime(6),
+    content varchar(2000) not null,
+    title varchar(255) not null,
+    primary key (post_id)
+) engine=InnoDB;
+
+create table orders (
+    order_id integer not null auto_increment,
+    total_amount float(53),
+    user_id integer,
+    created_at datetime(6),
+    updated_at datetime(6),
+    payment_method varchar(20),
+    status varchar(20),
+    order_uuid varchar(50),
+    payment_id varchar(100),
+    primary key (order_id)
+) engine=InnoDB;
+
+create table otp_verification (
+    otp_id integer not null auto_increment,
+    user_id integer not null,
+    expiry_time datetime(6) not null,
+    generated_at datetime(6) not null,
+    otp varchar(255) not null,
+    primary key (otp_id)
+) engine=InnoDB;
+
+create table payment (
+    amount float(53) not null,
+    event_event_id integer,
+    payment_id integer not null auto_increment,
+    user_user_id integer,
+    razorpay_order_id varchar(255),
+    razorpay_payment_id varchar(255),
+    razorpay_signature varchar(255),
+    status varchar(255),
+    primary key (payment_id)
+) engine=InnoDB;
+
+create table poll_options (
+    option_id integer not null auto_increment,
+    poll_id integer,
+    option_text varchar(255) not null,
+    primary key (option_id)
+) engine=InnoDB;
+
+create table poll_votes (
+    option_id integer,
+    poll_id integer,
+    user_id integer,
+    vote_id integer not null auto_increment,
+    voted_at datetime(6),
+    primary key (vote_id)
+) engine=InnoDB;
+
+create table polls (
+    created_by integer,
+    event_id integer,
+    poll_id integer not null auto_increment,
+    created_at datetime(6),
+    ends_at datetime(6),
+    question varchar(255) not null,
+    primary key (poll_id)
+) engine=InnoDB;
+
+create table questions_answers (
+    answered_by integer,
+    asked_by integer,
+    event_id integer,
+    qa_id integer not null auto_increment,
+    answered_at datetime(6),
+    asked_at datetime(6),
+    answer varchar(255),
+    question varchar(255) not null,
+    primary key (qa_id)
+) engine=InnoDB;
+
+create table tickets (
+    booking_id integer,
+    ticket_id integer not null auto_increment,
+    ticket_status enum ('ACTIVE','BOOKED','CANCELLED','USED'),
+    primary key (ticket_id)
+) engine=InnoDB;
+
+create table users (
+    dob date not null,
+    user_id integer not null auto_increment,
+    verified bit not null,
+    created_at datetime(6),
+    email varchar(255) not null,
+    facebook_id varchar(255),
+    google_id varchar(255),
+    name varchar(255) not null,
+    password varchar(255),
+    phone_number varchar(255),
+    profile_image_url varchar(255),
+    login_status enum ('LOGGED_IN','LOGGED_OUT','OTP_PENDING'),
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table email_verification_tokens add constraint UKs3mje1c85ftmp2uld6dt1bffs unique (user_id);
+alter table email_verification_tokens add constraint UKewmvysc7e9y6uy7og2c21axa9 unique (token);
+alter table orders add constraint UKphq8jmop0gyemsbhiwtg2lk6l unique (order_uuid);
+alter table tickets add constraint UKlwytoi4sx2v20kyuj6bvqto1y unique (booking_id);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table bookings add constraint FK2ww82bk3npaiyu9oeehwtt2q3 foreign key (event_id) references events (event_id);
+alter table bookings add constraint FKeyog2oic85xg7hsu2je2lx3s6 foreign key (user_id) references users (user_id);
+alter table email_verification_tokens add constraint FKi1c4mmamlb8keqt74k4lrtwhc foreign key (user_id) references users (user_id);
+alter table events add constraint FK7ljm71n1057envlomdxcni5hs foreign key (creator_id) references users (user_id);
+alter table forum_comments add constraint FKaagdun8roxwogrhpfs97vfcyl foreign key (author_id) references users (user_id);
+alter table forum_comments add constraint FKeb7i9uh14fy77papa5wfpfds4 foreign key (post_id) references forum_posts (post_id);
+alter table forum_posts add constraint FKpsovhjndrj3obmt1d0p9nhr0u foreign key (author_id) references users (user_id);
+alter table forum_posts add constraint FKs2bdh91h1nor0ghibth1vxoaf foreign key (event_id) references events (event_id);
+alter table orders add constraint FK32ql8ubntj5uh44ph9659tiih foreign key (user_id) references users (user_id);
+alter table otp_verification add constraint FKmtitrif16hpdkhtr4m4kgvfv8 foreign key (user_id) references users (user_id);
+alter table payment add constraint FKbn5dml0ep0m9etp3ljs1p94rb foreign key (event_event_id) references events (event_id);
+alter table payment add constraint FKejlextqmaiyuu6d0u2hgxpgy4 foreign key (user_user_id) references users (user_id);
+alter table poll_options add constraint FK1baxdjoxricfu0grc0j6821f7 foreign key (poll_id) references polls (poll_id);
+alter table poll_votes add constraint FK974fgfa4183h12b8vns9226qs foreign key (option_id) references poll_options (option_id);
+alter table poll_votes add constraint FKmaogo469u92y072mev488em6p foreign key (poll_id) references polls (poll_id);
+alter table poll_votes add constraint FK3q0e7cabgif9f1t7voom07bg5 foreign key (user_id) references users (user_id);
+alter table polls add constraint FKs2iay0nvudl3tl0a33ji0pxyn foreign key (created_by) references users (user_id);
+alter table polls add constraint FK45ikp8ed5l9lxiqgm2dunig40 foreign key (event_id) references events (event_id);
+alter table questions_answers add constraint FKk5bmx6fygor0ykvxugcyyxxb3 foreign key (answered_by) references users (user_id);
+alter table questions_answers add constraint FKe70ix43wi5fhr17y3wmc890ux foreign key (asked_by) references users (user_id);
+alter table questions_answers add constraint FKbg9ngf69llnm60x1kgx1n6i5n foreign key (event_id) references events (event_id);
+alter table tickets add constraint FKefja4avuu7g29t78mxifrsynb foreign key (booking_id) references bookings (booking_id);
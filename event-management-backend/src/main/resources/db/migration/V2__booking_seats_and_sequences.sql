@@ -0,0 +1,55 @@
+-- A booking holds several seats with a ticket each, expires when unpaid, and is versioned.
+-- Ids come from pooled sequences; booking_id and ticket_id keep their unused auto_increment.
+
+-- Tickets no longer belong one-to-one to a booking; booking_id keeps a plain index for its foreign key
+create index idx_tickets_booking on tickets (booking_id);
+alter table tickets drop index UKlwytoi4sx2v20kyuj6bvqto1y;
+alter table tickets add column seat_number integer;
+alter table tickets add column ticket_code varchar(64);
+
+alter table bookings add column seat_count integer default 1 not null;
+alter table bookings add column hold_expires_at datetime(6);
+alter table bookings add column version bigint default 0 not null;
+
+-- One booking per user and event. Duplicates that raced past the old check are folded into the
+-- user's paid booking, or their first one, and keep their tickets as extra seats
+update tickets t
+join bookings b on b.booking_id = t.booking_id
+join (select user_id, event_id,
+             coalesce(min(case when payment_status = 'COMPLETED' then booking_id end), min(booking_id)) as keep_id
+      from bookings
+      where user_id is not null and event_id is not null
+      group by user_id, event_id
+      having count(*) > 1) k on k.user_id = b.user_id and k.event_id = b.event_id
+set t.booking_id = k.keep_id
+where t.booking_id <> k.keep_id;
+
+delete b from bookings b
+join (select user_id, event_id,
+             coalesce(min(case when payment_status = 'COMPLETED' then booking_id end), min(booking_id)) as keep_id
+      from bookings
+      where user_id is not null and event_id is not null
+      group by user_id, event_id
+      having count(*) > 1) k on k.user_id = b.user_id and k.event_id = b.event_id
+where b.booking_id <> k.keep_id;
+
+update bookings b
+join (select booking_id, count(*) as seats
+      from tickets
+      where ticket_status is null or ticket_status <> 'CANCELLED'
+      group by booking_id
+      having count(*) > 1) t on t.booking_id = b.booking_id
+set b.seat_count = t.seats;
+
+alter table bookings add constraint uk_bookings_user_event unique (user_id, event_id);
+
+-- The pooled optimizer hands out ids below next_val, so start a full block above the current max
+create table bookings_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into bookings_seq (next_val) select coalesce(max(booking_id), 0) + 51 from bookings;
+
+create table tickets_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into tickets_seq (next_val) select coalesce(max(ticket_id), 0) + 51 from tickets;
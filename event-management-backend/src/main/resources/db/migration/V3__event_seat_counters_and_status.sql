@@ -0,0 +1,22 @@
+-- Events count their own seats, can run a flash sale, are versioned and can be ONGOING.
+
+alter table events add column seats_sold integer default 0 not null;
+alter table events add column seats_held integer default 0 not null;
+alter table events add column flash_sale bit default false not null;
+alter table events add column version bigint default 0 not null;
+alter table events modify event_status enum ('CANCELLED','COMPLETED','CREATED','ONGOING','UPCOMING','UPDATED');
+
+-- No booking is on hold yet, so every seat taken so far is a paid one
+update events e
+join (select event_id, sum(seat_count) as seats
+      from bookings
+      where payment_status = 'COMPLETED'
+      group by event_id) b on b.event_id = e.event_id
+set e.seats_sold = b.seats;
+
+-- Keyset-paginated listings in (event_date, event_id) order, and the lifecycle job's date windows
+create index idx_events_date on events (event_date, event_id);
+create index idx_events_privacy_date on events (privacy_settings, event_date, event_id);
+create index idx_events_category_date on events (event_category, event_date, event_id);
+create index idx_events_creator_date on events (creator_id, event_date, event_id);
+create index idx_events_status_date on events (event_status, event_date, event_id);
@@ -0,0 +1,53 @@
+-- Dashboard rollups and time series, the sold-out waitlist and stored idempotent responses.
+-- StatsService fills the rollups from bookings on startup.
+
+create table event_stats (
+    event_id integer not null,
+    organizer_id integer not null,
+    revenue float(53) not null,
+    confirmed_bookings bigint not null,
+    pending_bookings bigint not null,
+    total_bookings bigint not null,
+    primary key (event_id)
+) engine=InnoDB;
+create index idx_event_stats_organizer on event_stats (organizer_id);
+
+create table organizer_stats (
+    organizer_id integer not null,
+    revenue float(53) not null,
+    confirmed_bookings bigint not null,
+    pending_bookings bigint not null,
+    total_bookings bigint not null,
+    primary key (organizer_id)
+) engine=InnoDB;
+
+create table booking_buckets (
+    event_id integer not null,
+    revenue float(53) not null,
+    bookings bigint not null,
+    bucket_start datetime(6) not null,
+    granularity enum ('DAY','HOUR','MINUTE') not null,
+    primary key (event_id, bucket_start, granularity)
+) engine=InnoDB;
+
+create table waitlist_entries (
+    entry_id integer not null auto_increment,
+    event_id integer not null,
+    user_id integer not null,
+    joined_at datetime(6) not null,
+    primary key (entry_id)
+) engine=InnoDB;
+alter table waitlist_entries add constraint uk_waitlist_user_event unique (user_id, event_id);
+alter table waitlist_entries add constraint FKhrfxv476fswluafeb1sux3yq6 foreign key (event_id) references events (event_id);
+alter table waitlist_entries add constraint FKdpgl4h9wd7kabg6dk86wdvjqy foreign key (user_id) references users (user_id);
+
+create table idempotency_keys (
+    status_code integer not null,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    request_hash varchar(64) not null,
+    content_type varchar(100),
+    idempotency_key varchar(150) not null,
+    response_body mediumblob,
+    primary key (idempotency_key)
+) engine=InnoDB;
@@ -0,0 +1,35 @@
+-- Composite indexes for the repository queries that only had a foreign key index, or none.
+-- events already has (privacy_settings, event_date, event_id) and friends from V3.
+
+-- Seat counter backfill and stats rebuild (per event, by payment status)
+create index idx_bookings_event_status on bookings (event_id, payment_status);
+-- Recent bookings of an event, newest first
+create index idx_bookings_event_time on bookings (event_id, booking_time, booking_id);
+-- A user's tickets, newest booking first, keyset-paginated
+create index idx_bookings_user_time on bookings (user_id, booking_time, booking_id);
+-- Hold sweeper
+create index idx_bookings_status_hold on bookings (payment_status, hold_expires_at);
+
+-- Ticket code backfill and active ticket lookups, in ticket id order
+create index idx_tickets_status_code on tickets (ticket_status, ticket_code);
+
+-- One user's vote in a poll
+create index idx_poll_votes_poll_user on poll_votes (poll_id, user_id);
+-- Active polls of an event, and expired polls
+create index idx_polls_event_ends on polls (event_id, ends_at);
+create index idx_polls_ends on polls (ends_at);
+
+-- Event forum, newest post first, and a post's comments, oldest first
+create index idx_forum_posts_event_created on forum_posts (event_id, created_at);
+create index idx_forum_comments_post_created on forum_comments (post_id, created_at);
+
+-- A user's orders and latest OTP, newest first
+create index idx_orders_user_created on orders (user_id, created_at);
+create index idx_otp_verification_user_generated on otp_verification (user_id, generated_at);
+
+-- Social login lookups
+create index idx_users_google on users (google_id);
+create index idx_users_facebook on users (facebook_id);
+
+-- Idempotency key sweeper
+create index idx_idempotency_keys_expires on idempotency_keys (expires_at);
@@ -0,0 +1,9 @@
+-- What a confirmed booking was charged, so cancellations and rebuilds reverse and count that
+-- rather than the event's current price. Bookings paid before this are taken at today's price.
+
+alter table bookings add column amount_paid float(53);
+
+update bookings b
+join events e on e.event_id = b.event_id
+set b.amount_paid = b.seat_count * e.ticket_price
+where b.payment_status = 'COMPLETED';
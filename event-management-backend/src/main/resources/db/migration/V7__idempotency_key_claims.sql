@@ -0,0 +1,6 @@
+-- A key is claimed by inserting it as PENDING before its request runs, so a retry that reaches
+-- another instance sees the claim. The response is written into the same row once the request
+-- succeeds; a failed request deletes its claim. Rows stored before this are finished responses.
+
+alter table idempotency_keys add column status enum ('COMPLETED','PENDING') not null default 'COMPLETED';
+alter table idempotency_keys modify status_code integer null;
@@ -3,7 +3,7 @@ package com.example.eventmanagement;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.ticket.token-secret=test-ticket-token-secret-of-32-bytes")
 class EventManagementBackendApplicationTests {
 
 	@Test
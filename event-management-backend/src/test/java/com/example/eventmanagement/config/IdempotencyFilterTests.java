@@ -0,0 +1,233 @@
+package com.example.eventmanagement.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.IdempotencyRecordDao;
+import com.example.eventmanagement.model.IdempotencyRecord;
+import com.example.eventmanagement.service.IdempotencyService;
+import com.example.eventmanagement.util.IdempotencyStatus;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+
+class IdempotencyFilterTests {
+
+	private static final String BOOKED = "{\"statusCode\":201,\"message\":\"Ticket booked\",\"data\":{\"ticketId\":9}}";
+
+	private KeyTable keyTable;
+	private IdempotencyFilter filter;
+	private final AtomicInteger bookings = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		keyTable = new KeyTable(new HashMap<>());
+		filter = filter(keyTable);
+	}
+
+	@Test
+	void aRetryGetsTheFirstResponseBack() throws Exception {
+		MockHttpServletResponse first = send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+		MockHttpServletResponse retry = send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(bookings).hasValue(1);
+		assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+		assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BOOKED);
+		assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(keyTable.rows.values()).singleElement()
+				.extracting(IdempotencyRecord::getStatus).isEqualTo(IdempotencyStatus.COMPLETED);
+	}
+
+	@Test
+	void aRetryWhileTheFirstRequestRunsGetsAConflict() throws Exception {
+		MockHttpServletResponse[] retry = new MockHttpServletResponse[1];
+		send(filter, "key-1", 3, (request, response) -> {
+			retry[0] = send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+			book(HttpStatus.CREATED, BOOKED).doFilter(request, response);
+		});
+
+		assertThat(bookings).hasValue(1);
+		assertThat(retry[0].getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+	}
+
+	@Test
+	void aRetryReachingAnotherInstanceSeesTheClaim() throws Exception {
+		IdempotencyFilter otherInstance = filter(keyTable);
+
+		MockHttpServletResponse[] retry = new MockHttpServletResponse[1];
+		send(filter, "key-1", 3, (request, response) -> {
+			retry[0] = send(otherInstance, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+			book(HttpStatus.CREATED, BOOKED).doFilter(request, response);
+		});
+		MockHttpServletResponse later = send(otherInstance, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(bookings).hasValue(1);
+		assertThat(retry[0].getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+		assertThat(later.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+		assertThat(later.getContentAsString()).isEqualTo(BOOKED);
+	}
+
+	@Test
+	void aKeyReusedForADifferentRequestIsRejected() throws Exception {
+		send(filter, "key-1", 3, "eventId=1", book(HttpStatus.CREATED, BOOKED));
+		MockHttpServletResponse reused = send(filter, "key-1", 3, "eventId=2", book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(bookings).hasValue(1);
+		assertThat(reused.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT.value());
+	}
+
+	@Test
+	void theSameKeyFromAnotherUserIsAnotherKey() throws Exception {
+		send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+		MockHttpServletResponse otherUser = send(filter, "key-1", 4, book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(bookings).hasValue(2);
+		assertThat(otherUser.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	@Test
+	void aFailedRequestGivesItsKeyUp() throws Exception {
+		MockHttpServletResponse failed = send(filter, "key-1", 3,
+				book(HttpStatus.BAD_REQUEST, "{\"statusCode\":400,\"message\":\"Event is fully booked\"}"));
+		MockHttpServletResponse retry = send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(failed.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+		assertThat(bookings).hasValue(2);
+		assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+		assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	@Test
+	void anAbandonedClaimCanBeTakenOver() throws Exception {
+		// An instance that dies mid-request never releases its claim
+		IdempotencyFilter dying = filter(new KeyTable(keyTable.rows) {
+			@Override
+			public boolean deletePending(String key, String requestHash) {
+				throw new IllegalStateException("database unreachable");
+			}
+		});
+		assertThatThrownBy(() -> send(dying, "key-1", 3, (request, response) -> {
+			throw new IllegalStateException("instance died");
+		})).hasMessage("instance died");
+		assertThat(send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED)).getStatus())
+				.isEqualTo(HttpStatus.CONFLICT.value());
+
+		keyTable.rows.values().forEach(r -> r.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+		MockHttpServletResponse retry = send(filter, "key-1", 3, book(HttpStatus.CREATED, BOOKED));
+
+		assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+		assertThat(bookings).hasValue(1);
+	}
+
+	private IdempotencyFilter filter(KeyTable table) {
+		IdempotencyService service = new IdempotencyService();
+		ReflectionTestUtils.setField(service, "idempotencyRecordDao", table);
+		ReflectionTestUtils.setField(service, "ttlHours", 24L);
+		ReflectionTestUtils.setField(service, "pendingTimeoutSeconds", 120L);
+		ReflectionTestUtils.setField(service, "maxCachedKeys", 100L);
+		service.init();
+
+		IdempotencyFilter idempotencyFilter = new IdempotencyFilter();
+		ReflectionTestUtils.setField(idempotencyFilter, "idempotencyService", service);
+		ReflectionTestUtils.setField(idempotencyFilter, "objectMapper", new ObjectMapper());
+		return idempotencyFilter;
+	}
+
+	private FilterChain book(HttpStatus status, String json) {
+		return (request, response) -> {
+			bookings.incrementAndGet();
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			((HttpServletResponse) response).setStatus(status.value());
+			response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private MockHttpServletResponse send(IdempotencyFilter target, String key, int userId, FilterChain chain)
+			throws Exception {
+		return send(target, key, userId, "eventId=1", chain);
+	}
+
+	private MockHttpServletResponse send(IdempotencyFilter target, String key, int userId, String query,
+			FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tickets/book");
+		request.setServletPath("/tickets/book");
+		request.setQueryString(query + "&userId=" + userId);
+		request.addParameter("userId", String.valueOf(userId));
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		target.doFilter(request, response, chain);
+		return response;
+	}
+
+	// idempotency_keys, with the inserts and conditional updates of IdempotencyRecordRepository
+	private static class KeyTable extends IdempotencyRecordDao {
+
+		private final Map<String, IdempotencyRecord> rows;
+
+		KeyTable(Map<String, IdempotencyRecord> rows) {
+			this.rows = rows;
+		}
+
+		@Override
+		public Optional<IdempotencyRecord> findByKey(String key) {
+			return Optional.ofNullable(rows.get(key));
+		}
+
+		@Override
+		public boolean insertPending(String key, String requestHash, LocalDateTime now,
+				LocalDateTime expiresAt) {
+			return rows.putIfAbsent(key, IdempotencyRecord.builder().idempotencyKey(key).requestHash(requestHash)
+					.status(IdempotencyStatus.PENDING).createdAt(now).expiresAt(expiresAt).build()) == null;
+		}
+
+		@Override
+		public boolean reclaim(String key, String requestHash, LocalDateTime now,
+				LocalDateTime expiresAt) {
+			IdempotencyRecord row = rows.get(key);
+			if (row == null || row.getExpiresAt().isAfter(now)) {
+				return false;
+			}
+			rows.put(key, IdempotencyRecord.builder().idempotencyKey(key).requestHash(requestHash)
+					.status(IdempotencyStatus.PENDING).createdAt(now).expiresAt(expiresAt).build());
+			return true;
+		}
+
+		@Override
+		public boolean complete(String key, String requestHash, int statusCode, String contentType,
+				byte[] body, LocalDateTime expiresAt) {
+			IdempotencyRecord row = rows.get(key);
+			if (row == null || row.getStatus() != IdempotencyStatus.PENDING || !row.getRequestHash().equals(requestHash)) {
+				return false;
+			}
+			row.setStatus(IdempotencyStatus.COMPLETED);
+			row.setStatusCode(statusCode);
+			row.setContentType(contentType);
+			row.setResponseBody(body);
+			row.setExpiresAt(expiresAt);
+			return true;
+		}
+
+		@Override
+		public boolean deletePending(String key, String requestHash) {
+			IdempotencyRecord row = rows.get(key);
+			return row != null && row.getStatus() == IdempotencyStatus.PENDING
+					&& row.getRequestHash().equals(requestHash) && rows.remove(key) != null;
+		}
+	}
+}
@@ -0,0 +1,401 @@
+package com.example.eventmanagement.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs every query method of every repository against a seeded MySQL database and fails
+ * when EXPLAIN shows a full table scan, other than for the queries that read a whole table
+ * on purpose. Uses its own database (-Dquery-plan.url, .username, .password), migrated by
+ * Flyway like any other, and is skipped when no server is reachable there.
+ * <p>
+ * Without those properties it connects to localhost:3306 as root/admin and creates
+ * event_management_query_plans, which needs MySQL 8.0.19 or later. A skip is reported, not
+ * failed, so a green build without MySQL has checked no plan; the README shows how to run it.
+ */
+@SpringBootTest(properties = "app.ticket.token-secret=test-ticket-token-secret-of-32-bytes")
+@EnabledIf(value = "databaseAvailable", disabledReason = "No MySQL database for query plans")
+class RepositoryQueryPlanTests {
+
+	private static final String URL = System.getProperty("query-plan.url",
+			"jdbc:mysql://localhost:3306/event_management_query_plans?createDatabaseIfNotExist=true"
+					+ "&rewriteBatchedStatements=true&connectTimeout=2000");
+	private static final String USERNAME = System.getProperty("query-plan.username", "root");
+	private static final String PASSWORD = System.getProperty("query-plan.password", "admin");
+
+	private static final int USERS = 2000;
+	private static final int EVENTS = 4000;
+	private static final int BOOKINGS_PER_USER = 8;
+	private static final int POLLS = 1000;
+	private static final int OPTIONS_PER_POLL = 3;
+	private static final int SAMPLE_ID = 42;
+
+	// Whole-table reads by design, and ones matching most rows, where a scan is the right plan
+	private static final Map<String, String> FULL_SCANS = Map.ofEntries(
+			Map.entry("EventRepository.searchByEventName", "substring match"),
+			Map.entry("ForumPostRepository.searchByKeyword", "substring match"),
+			Map.entry("EventRepository.findPublicEventTexts", "loads the public catalog into EventSearchIndex"),
+			Map.entry("EventRepository.findPublicEventPhrases", "loads the public catalog into EventSuggestIndex"),
+			Map.entry("EventRepository.findPublicEventsOrderByDate", "the unpaged public catalog"),
+			Map.entry("EventRepository.findByPrivacySettings", "most events are public"),
+			Map.entry("PollRepository.findExpiredPolls", "most polls have ended"),
+			Map.entry("UserRepository.countVerifiedUsers", "most users are verified"),
+			Map.entry("EventStatsRepository.rebuildAll", "recomputes every event's stats"),
+			Map.entry("EventStatsRepository.deleteAllStats", "clears the table before a rebuild"),
+			Map.entry("OrganizerStatsRepository.deleteAllStats", "clears the table before a rebuild"),
+			Map.entry("BookingBucketRepository.rebuildAll", "recomputes every event's series"),
+			Map.entry("BookingBucketRepository.deleteAllBuckets", "clears the table before a rebuild"),
+			Map.entry("WaitlistEntryRepository.findAllInJoinOrder", "loads every waitlist at startup"));
+
+	// Statements of the repository call running on this thread; scheduled jobs on other threads are left out
+	private static final ThreadLocal<List<Recorded>> recording = new ThreadLocal<>();
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private record Recorded(String sql, List<Object> parameters) {
+	}
+
+	static boolean databaseAvailable() {
+		try (Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+			return connection.isValid(2);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	@DynamicPropertySource
+	static void queryPlanDatabase(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> URL);
+		registry.add("spring.datasource.username", () -> USERNAME);
+		registry.add("spring.datasource.password", () -> PASSWORD);
+		registry.add("spring.jpa.show-sql", () -> "false");
+	}
+
+	@Test
+	void everyRepositoryQueryUsesAnIndex() {
+		seed();
+
+		List<String> problems = new ArrayList<>();
+		Repositories repositories = new Repositories(context);
+		for (Class<?> domainType : repositories) {
+			RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+			Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+			List<Method> methods = information.getQueryMethods().stream()
+					.sorted(Comparator.comparing(Method::getName))
+					.toList();
+
+			for (Method method : methods) {
+				String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+				List<Recorded> statements = run(repository, method);
+				if (statements.isEmpty()) {
+					problems.add(name + " ran no SQL");
+				}
+				if (FULL_SCANS.containsKey(name)) {
+					continue;
+				}
+				for (Recorded statement : statements) {
+					for (String table : fullScans(statement)) {
+						problems.add(name + " scans all of " + table + ": " + statement.sql());
+					}
+				}
+			}
+		}
+
+		assertThat(problems).isEmpty();
+	}
+
+	// Each method runs in a transaction that is rolled back, so modifying queries leave the seed alone
+	private List<Recorded> run(Object repository, Method method) {
+		List<Recorded> statements = new ArrayList<>();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			status.setRollbackOnly();
+			recording.set(statements);
+			try {
+				Object result = method.invoke(repository, arguments(method));
+				if (result instanceof Stream<?> stream) {
+					try (stream) {
+						stream.count();
+					}
+				}
+			} catch (InvocationTargetException e) {
+				// Only the SQL matters, e.g. a single-result query that found several rows
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				recording.remove();
+			}
+		});
+		return statements;
+	}
+
+	private List<String> fullScans(Recorded statement) {
+		String sql = statement.sql().strip().toLowerCase();
+		if (sql.startsWith("insert") && !sql.contains(" select ")) {
+			return List.of();
+		}
+		return jdbcTemplate.query("explain " + statement.sql(), (rs, row) -> {
+			String table = rs.getString("table");
+			boolean derived = table == null || table.startsWith("<");
+			return !derived && "ALL".equals(rs.getString("type")) ? table : null;
+		}, statement.parameters().toArray()).stream().filter(table -> table != null).toList();
+	}
+
+	private static Object[] arguments(Method method) {
+		return Stream.of(method.getParameterTypes()).map(RepositoryQueryPlanTests::argument).toArray();
+	}
+
+	private static Object argument(Class<?> type) {
+		if (type == int.class || type == Integer.class) {
+			return SAMPLE_ID;
+		}
+		if (type == long.class || type == Long.class) {
+			return (long) SAMPLE_ID;
+		}
+		if (type == double.class || type == Double.class) {
+			return 100.0;
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return true;
+		}
+		if (type == String.class) {
+			return "music";
+		}
+		if (type == LocalDate.class) {
+			return LocalDate.now();
+		}
+		if (type == LocalDateTime.class) {
+			return LocalDateTime.now();
+		}
+		if (type.isEnum()) {
+			return type.getEnumConstants()[0];
+		}
+		if (type == Limit.class) {
+			return Limit.of(20);
+		}
+		if (Collection.class.isAssignableFrom(type)) {
+			return List.of(SAMPLE_ID, SAMPLE_ID + 1, SAMPLE_ID + 2);
+		}
+		throw new IllegalArgumentException("No sample value for " + type);
+	}
+
+	// Shaped like a database in use for a while: most events are over and most tickets used.
+	// Enough rows that the optimizer prefers an index wherever one fits; kept across runs
+	private void seed() {
+		Integer seeded = jdbcTemplate.queryForObject("select count(*) from events", Integer.class);
+		if (seeded != null && seeded >= EVENTS) {
+			return;
+		}
+
+		Random random = new Random(7);
+		LocalDate today = LocalDate.now();
+		LocalDateTime now = LocalDateTime.now();
+		String[] categories = { "BUSINESS", "CHARITY", "CONCERT", "CONFERENCE", "EDUCATIONAL", "ENTERTAINMENT",
+				"OTHER", "SOCIAL", "SPORTS", "WORKSHOP" };
+		String[] paymentStatuses = { "COMPLETED", "COMPLETED", "COMPLETED", "PENDING", "FAILED" };
+		int bookings = USERS * BOOKINGS_PER_USER;
+		LocalDate[] eventDates = new LocalDate[EVENTS + 1];
+		int[] bookingEvents = new int[bookings + 1];
+
+		insert("insert into users (user_id, name, email, dob, verified, created_at, google_id, facebook_id, "
+				+ "login_status) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", USERS, i -> new Object[] {
+						i, "User " + i, "user" + i + "@example.com", today.minusYears(20 + i % 40), i % 10 != 0,
+						now.minusDays(i % 700), i % 3 == 0 ? "google-" + i : null,
+						i % 5 == 0 ? "facebook-" + i : null, "LOGGED_OUT" });
+
+		insert("insert into events (event_id, event_name, venue, description, event_date, event_time, ticket_price, "
+				+ "event_category, event_status, privacy_settings, creator_id, max_attendees, seats_sold, seats_held, "
+				+ "flash_sale, version, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)",
+				EVENTS, i -> {
+					LocalDate date = today.plusDays(random.nextInt(790) - 730);
+					eventDates[i] = date;
+					return new Object[] { i, "Event " + i, "Venue " + i % 300, "Description of event " + i, date,
+							"19:00:00", (double) random.nextInt(5000), categories[i % categories.length],
+							date.isBefore(today) ? "COMPLETED" : "UPCOMING",
+							i % 10 < 7 ? "PUBLIC" : i % 10 < 9 ? "PRIVATE" : "INVITE_ONLY", i % (USERS / 4) + 1,
+							500, 0, 0, i % 50 == 0, date.minusDays(30) };
+				});
+
+		// Booking i is user i % USERS at one of BOOKINGS_PER_USER events spread over the catalog
+		insert("insert into bookings (booking_id, user_id, event_id, payment_status, booking_time, hold_expires_at, "
+				+ "seat_count, version) values (?, ?, ?, ?, ?, ?, ?, 0)", bookings, i -> {
+					int user = (i - 1) % USERS + 1;
+					int event = (user * 13 + (i - 1) / USERS * 331) % EVENTS + 1;
+					bookingEvents[i] = event;
+					String status = paymentStatuses[random.nextInt(paymentStatuses.length)];
+					LocalDateTime time = now.minusMinutes(random.nextInt(500_000));
+					return new Object[] { i, user, event, status, time,
+							status.equals("PENDING") && i % 4 == 0 ? now.plusMinutes(15) : null, 1 + i % 3 };
+				});
+		// Tickets stay ACTIVE until their event, then are mostly USED
+		insert("insert into tickets (ticket_id, booking_id, seat_number, ticket_code, ticket_status) "
+				+ "values (?, ?, ?, ?, ?)", bookings, i -> new Object[] {
+						i, i, i % 500, i % 20 == 0 ? null : "code-" + i,
+						!eventDates[bookingEvents[i]].isBefore(today) ? "ACTIVE" : i % 10 == 0 ? "CANCELLED" : "USED" });
+		insert("insert into booking_buckets (event_id, granularity, bucket_start, bookings, revenue) "
+				+ "values (?, ?, ?, 1, 100)", bookings, i -> new Object[] {
+						(i - 1) % EVENTS + 1, i % 2 == 0 ? "HOUR" : "DAY", now.minusHours(i) });
+		insert("insert into event_stats (event_id, organizer_id, total_bookings, confirmed_bookings, "
+				+ "pending_bookings, revenue) values (?, ?, 4, 3, 1, 1000)", EVENTS,
+				i -> new Object[] { i, i % (USERS / 4) + 1 });
+		insert("insert into organizer_stats (organizer_id, total_bookings, confirmed_bookings, pending_bookings, "
+				+ "revenue) values (?, 16, 12, 4, 4000)", USERS / 4, i -> new Object[] { i });
+
+		insert("insert into polls (poll_id, event_id, created_by, question, created_at, ends_at) "
+				+ "values (?, ?, ?, ?, ?, ?)", POLLS, i -> new Object[] {
+						i, i * 3 % EVENTS + 1, i % USERS + 1, "Question " + i, now.minusDays(i % 60),
+						now.plusDays(i % 60 - 50) });
+		insert("insert into poll_options (option_id, poll_id, option_text) values (?, ?, ?)",
+				POLLS * OPTIONS_PER_POLL, i -> new Object[] { i, (i - 1) / OPTIONS_PER_POLL + 1, "Option " + i });
+		insert("insert into poll_votes (vote_id, poll_id, option_id, user_id, voted_at) values (?, ?, ?, ?, ?)",
+				POLLS * 10, i -> {
+					int poll = (i - 1) / 10 + 1;
+					return new Object[] { i, poll, (poll - 1) * OPTIONS_PER_POLL + i % OPTIONS_PER_POLL + 1,
+							(poll * 7 + i) % USERS + 1, now.minusHours(i) };
+				});
+
+		insert("insert into forum_posts (post_id, event_id, author_id, title, content, created_at, updated_at) "
+				+ "values (?, ?, ?, ?, ?, ?, ?)", EVENTS, i -> new Object[] {
+						i, i * 7 % EVENTS + 1, i % USERS + 1, "Post " + i, "Content of post " + i,
+						now.minusHours(i), now.minusHours(i) });
+		insert("insert into forum_comments (comment_id, post_id, author_id, content, created_at) "
+				+ "values (?, ?, ?, ?, ?)", EVENTS * 3, i -> new Object[] {
+						i, (i - 1) / 3 + 1, i % USERS + 1, "Comment " + i, now.minusMinutes(i) });
+		insert("insert into questions_answers (qa_id, event_id, asked_by, question, asked_at) "
+				+ "values (?, ?, ?, ?, ?)", EVENTS, i -> new Object[] {
+						i, i * 11 % EVENTS + 1, i % USERS + 1, "Question " + i, now.minusHours(i) });
+		insert("insert into waitlist_entries (entry_id, event_id, user_id, joined_at) values (?, ?, ?, ?)",
+				USERS, i -> new Object[] { i, i * 17 % EVENTS + 1, i, now.minusMinutes(i) });
+
+		insert("insert into orders (order_id, user_id, order_uuid, total_amount, status, payment_method, created_at, "
+				+ "updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)", USERS * 2, i -> new Object[] {
+						i, (i - 1) % USERS + 1, "order-" + i, 500.0, "CREATED", "UPI", now.minusHours(i),
+						now.minusHours(i) });
+		insert("insert into otp_verification (otp_id, user_id, otp, generated_at, expiry_time) values (?, ?, ?, ?, ?)",
+				USERS * 2, i -> new Object[] {
+						i, (i - 1) % USERS + 1, "123456", now.minusMinutes(i), now.minusMinutes(i).plusMinutes(5) });
+		insert("insert into email_verification_tokens (token_id, user_id, token, generated_at, expiry_time, used) "
+				+ "values (?, ?, ?, ?, ?, ?)", USERS, i -> new Object[] {
+						i, i, "token-" + i, now.minusHours(i), now.minusHours(i).plusDays(1), i % 2 == 0 });
+		insert("insert into idempotency_keys (idempotency_key, request_hash, status_code, content_type, "
+				+ "response_body, created_at, expires_at) values (?, ?, 200, 'application/json', null, ?, ?)",
+				USERS, i -> new Object[] {
+						"key-" + i, "hash-" + i, now.minusMinutes(i), now.minusMinutes(i).plusHours(24) });
+
+		jdbcTemplate.execute("analyze table users, events, bookings, tickets, booking_buckets, event_stats, "
+				+ "organizer_stats, polls, poll_options, poll_votes, forum_posts, forum_comments, questions_answers, "
+				+ "waitlist_entries, orders, otp_verification, email_verification_tokens, idempotency_keys");
+	}
+
+	// Rows 1..count, in batches
+	private void insert(String sql, int count, IntFunction<Object[]> row) {
+		for (int from = 1; from <= count; from += 1000) {
+			jdbcTemplate.batchUpdate(sql, IntStream.rangeClosed(from, Math.min(count, from + 999))
+					.mapToObj(row)
+					.toList());
+		}
+	}
+
+	@TestConfiguration
+	static class RecordingDataSource {
+
+		// Records the SQL and bound parameters of statements run while a thread is recording
+		@Bean
+		static BeanPostProcessor recordingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource dataSource)) {
+						return bean;
+					}
+					return proxy(DataSource.class, (p, method, args) -> {
+						Object result = invoke(dataSource, method, args);
+						return result instanceof Connection connection ? recording(connection) : result;
+					});
+				}
+			};
+		}
+
+		private static Connection recording(Connection connection) {
+			return proxy(Connection.class, (p, method, args) -> {
+				Object result = invoke(connection, method, args);
+				return method.getName().equals("prepareStatement")
+						? recording((PreparedStatement) result, (String) args[0])
+						: result;
+			});
+		}
+
+		private static PreparedStatement recording(PreparedStatement statement, String sql) {
+			Map<Integer, Object> parameters = new TreeMap<>();
+			return proxy(PreparedStatement.class, (p, method, args) -> {
+				String name = method.getName();
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+					parameters.put(index, name.equals("setNull") ? null : args[1]);
+				} else if (name.equals("clearParameters")) {
+					parameters.clear();
+				} else if (recording.get() != null && (name.startsWith("execute") || name.equals("addBatch"))) {
+					recording.get().add(new Recorded(sql, new ArrayList<>(parameters.values())));
+				}
+				return invoke(statement, method, args);
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
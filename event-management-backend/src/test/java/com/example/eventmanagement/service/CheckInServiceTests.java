@@ -0,0 +1,250 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.dto.TicketClaims;
+import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.util.CheckInResult;
+import com.example.eventmanagement.util.TicketStatus;
+
+class CheckInServiceTests {
+
+	private static final int EVENT_ID = 7;
+	private static final int CREATOR_ID = 3;
+	private static final int TICKETS = 200;
+	private static final int THREADS = 16;
+
+	private TicketTable ticketTable;
+	private CheckInService checkIn;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		ticketTable = new TicketTable();
+		for (int ticketId = 1; ticketId <= TICKETS; ticketId++) {
+			ticketTable.statuses.put(ticketId, TicketStatus.ACTIVE);
+		}
+		checkIn = new CheckInService();
+		ReflectionTestUtils.setField(checkIn, "eventDao", new EventDao() {
+			@Override
+			public Optional<Event> findEventByIdAndCreator(int eventId, int userId) {
+				return Optional.of(Event.builder().eventId(eventId).build());
+			}
+		});
+		ReflectionTestUtils.setField(checkIn, "ticketDao", ticketTable);
+		// Codes are "ticketId:eventId" here; signing has its own service
+		ReflectionTestUtils.setField(checkIn, "ticketTokenService", new TicketTokenService() {
+			@Override
+			public Optional<TicketClaims> verify(String token) {
+				String[] parts = token.split(":");
+				return Optional.of(TicketClaims.builder().ticketId(Integer.parseInt(parts[0]))
+						.eventId(Integer.parseInt(parts[1])).seatNumber(1).build());
+			}
+		});
+		executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void concurrentScansAdmitEveryTicketOnce() throws Exception {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+
+		List<CheckInResult> results = race(TICKETS * 4, i -> scan(1 + i % TICKETS));
+
+		assertThat(results.stream().filter(r -> r == CheckInResult.ADMITTED)).hasSize(TICKETS);
+		assertThat(results.stream().filter(r -> r == CheckInResult.ALREADY_SCANNED)).hasSize(TICKETS * 3);
+		assertThat(checkIn.getStatus(EVENT_ID, CREATOR_ID).getData().getCheckedIn()).isEqualTo(TICKETS);
+
+		checkIn.flushScans();
+		assertThat(ticketTable.statuses.values()).containsOnly(TicketStatus.USED);
+	}
+
+	@Test
+	void aTicketIsEitherAdmittedOrCancelledNeverBoth() throws Exception {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+
+		List<CheckInResult> results = race(TICKETS * 2, i -> {
+			int ticketId = 1 + i / 2;
+			if (i % 2 == 0) {
+				return scan(ticketId);
+			}
+			return checkIn.revoke(EVENT_ID, List.of(ticketId)) ? null : CheckInResult.ALREADY_SCANNED;
+		});
+
+		for (int ticketId = 1; ticketId <= TICKETS; ticketId++) {
+			CheckInResult scanned = results.get(2 * (ticketId - 1));
+			boolean revoked = results.get(2 * (ticketId - 1) + 1) == null;
+			assertThat(scanned == CheckInResult.ADMITTED).as("ticket %d", ticketId).isNotEqualTo(revoked);
+			if (revoked) {
+				assertThat(scanned).isEqualTo(CheckInResult.INVALID);
+			}
+		}
+	}
+
+	@Test
+	void aScannedTicketBlocksCancellingItsBooking() {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+		assertThat(scan(2)).isEqualTo(CheckInResult.ADMITTED);
+
+		// Seat 2 of the booking was admitted but not flushed yet, so seats 1 and 3 stay valid too
+		assertThat(checkIn.revoke(EVENT_ID, List.of(1, 2, 3))).isFalse();
+		assertThat(ticketTable.statuses.get(2)).isEqualTo(TicketStatus.ACTIVE);
+		assertThat(scan(1)).isEqualTo(CheckInResult.ADMITTED);
+		assertThat(scan(3)).isEqualTo(CheckInResult.ADMITTED);
+	}
+
+	@Test
+	void rolledBackCancellationLetsTicketsScanAgain() {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(checkIn.revoke(EVENT_ID, List.of(5, 6))).isTrue();
+		assertThat(scan(5)).isEqualTo(CheckInResult.INVALID);
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(scan(5)).isEqualTo(CheckInResult.ADMITTED);
+		assertThat(scan(6)).isEqualTo(CheckInResult.ADMITTED);
+	}
+
+	@Test
+	void committedCancellationKeepsTicketsOut() {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(checkIn.revoke(EVENT_ID, List.of(5))).isTrue();
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThat(scan(5)).isEqualTo(CheckInResult.INVALID);
+	}
+
+	@Test
+	void ticketsPaidAfterTheDoorsOpenedAreRevokedToo() {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+		ticketTable.statuses.put(TICKETS + 1, TicketStatus.ACTIVE);
+		ticketTable.statuses.put(TICKETS + 2, TicketStatus.ACTIVE);
+
+		assertThat(checkIn.revoke(EVENT_ID, List.of(TICKETS + 1))).isTrue();
+		assertThat(scan(TICKETS + 1)).isEqualTo(CheckInResult.INVALID);
+
+		assertThat(scan(TICKETS + 2)).isEqualTo(CheckInResult.ADMITTED);
+		assertThat(scan(TICKETS + 2)).isEqualTo(CheckInResult.ALREADY_SCANNED);
+		assertThat(checkIn.revoke(EVENT_ID, List.of(TICKETS + 2))).isFalse();
+	}
+
+	@Test
+	void closingTheDoorsWritesEveryScan() {
+		checkIn.openDoors(EVENT_ID, CREATOR_ID);
+		for (int ticketId = 1; ticketId <= 10; ticketId++) {
+			scan(ticketId);
+		}
+
+		checkIn.closeDoors(EVENT_ID, CREATOR_ID);
+
+		assertThat(ticketTable.statuses.values().stream().filter(s -> s == TicketStatus.USED)).hasSize(10);
+		// Closed doors no longer block cancellations; the database does
+		assertThat(checkIn.revoke(EVENT_ID, List.of(1))).isTrue();
+	}
+
+	private CheckInResult scan(int ticketId) {
+		return checkIn.scan(EVENT_ID, ticketId + ":" + EVENT_ID).getData().getResult();
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(s -> s.afterCompletion(status));
+	}
+
+	private List<CheckInResult> race(int requests, Request request) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CheckInResult>> futures = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			int index = i;
+			Callable<CheckInResult> call = () -> {
+				start.await();
+				return request.run(index);
+			};
+			futures.add(executor.submit(call));
+		}
+		start.countDown();
+
+		List<CheckInResult> results = new ArrayList<>();
+		for (Future<CheckInResult> future : futures) {
+			results.add(future.get(30, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+	private interface Request {
+		CheckInResult run(int index) throws Exception;
+	}
+
+	// Ticket statuses of one event, changed the way the TicketRepository queries do
+	private static class TicketTable extends TicketDao {
+
+		private final Map<Integer, TicketStatus> statuses = new TreeMap<>();
+
+		@Override
+		public synchronized List<Object[]> findAdmissibleTickets(int eventId) {
+			List<Object[]> rows = new ArrayList<>();
+			statuses.forEach((ticketId, status) -> {
+				if (status == TicketStatus.ACTIVE || status == TicketStatus.USED) {
+					rows.add(new Object[] { ticketId, status });
+				}
+			});
+			return rows;
+		}
+
+		@Override
+		public synchronized Optional<Ticket> findTicketById(int ticketId) {
+			TicketStatus status = statuses.get(ticketId);
+			if (status == null) {
+				return Optional.empty();
+			}
+			Booking booking = Booking.builder().event(Event.builder().eventId(EVENT_ID).build()).build();
+			return Optional.of(Ticket.builder().ticketId(ticketId).booking(booking).ticketStatus(status).build());
+		}
+
+		@Override
+		public synchronized int markUsed(Collection<Integer> ticketIds) {
+			int updated = 0;
+			for (int ticketId : ticketIds) {
+				if (statuses.replace(ticketId, TicketStatus.ACTIVE, TicketStatus.USED)) {
+					updated++;
+				}
+			}
+			return updated;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.SerializedResponse;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.EventStatus;
+
+import tools.jackson.databind.ObjectMapper;
+
+class EventDetailCacheTests {
+
+	private static final int EVENT_ID = 42;
+
+	private Event event;
+	private EventDetailCache detailCache;
+
+	@BeforeEach
+	void setUp() {
+		event = Event.builder().eventId(EVENT_ID).eventName("Jazz night").venue("Blue Hall")
+				.eventDate(LocalDate.of(2026, 12, 4)).eventTime(LocalTime.of(20, 0)).ticketPrice(300)
+				.maxAttendees(200).eventStatus(EventStatus.UPCOMING).build();
+
+		ResponseSerializer serializer = new ResponseSerializer();
+		ReflectionTestUtils.setField(serializer, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(serializer, "gzip", false);
+
+		detailCache = new EventDetailCache();
+		ReflectionTestUtils.setField(detailCache, "eventDao", new EventDao() {
+			@Override
+			public Optional<Event> findEventById(int eventId) {
+				return Optional.of(event);
+			}
+		});
+		ReflectionTestUtils.setField(detailCache, "responseSerializer", serializer);
+		ReflectionTestUtils.setField(detailCache, "maxEvents", 100L);
+		ReflectionTestUtils.setField(detailCache, "ttlSeconds", 60L);
+		detailCache.init();
+	}
+
+	@Test
+	void detailsLeaveTheBookkeepingFieldsOut() {
+		event.setSeatsSold(120);
+		event.setSeatsHeld(7);
+		event.setFlashSale(true);
+		event.setVersion(3);
+
+		String json = new String(detailCache.get(EVENT_ID).json(), StandardCharsets.UTF_8);
+
+		assertThat(json).contains("\"eventName\":\"Jazz night\"", "\"maxAttendees\":200");
+		assertThat(json).doesNotContain("seatsSold", "seatsHeld", "flashSale", "version");
+	}
+
+	@Test
+	void seatsMovingDoNotChangeTheEtag() {
+		SerializedResponse before = detailCache.get(EVENT_ID);
+
+		// Holds and sales move the counters without an organizer edit; the cache entry expires meanwhile
+		event.setSeatsHeld(event.getSeatsHeld() + 5);
+		event.setSeatsSold(event.getSeatsSold() + 3);
+		detailCache.invalidate(EVENT_ID);
+		SerializedResponse afterHolds = detailCache.get(EVENT_ID);
+
+		event.setVenue("Red Hall");
+		event.setVersion(event.getVersion() + 1);
+		detailCache.invalidate(EVENT_ID);
+		SerializedResponse afterEdit = detailCache.get(EVENT_ID);
+
+		assertThat(afterHolds.etag()).isEqualTo(before.etag());
+		assertThat(afterEdit.etag()).isNotEqualTo(before.etag());
+	}
+}
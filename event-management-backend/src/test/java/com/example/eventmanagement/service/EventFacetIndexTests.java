@@ -0,0 +1,218 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.dto.EventFacetFilter;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.DayType;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PriceBand;
+import com.example.eventmanagement.util.PriceType;
+import com.example.eventmanagement.util.PrivacySettings;
+
+class EventFacetIndexTests {
+
+	private static final double[] PRICES = { 0, 0.5, 100, 499.99, 500, 1999, 2000, 5000 };
+
+	private final IndexTestCatalog catalog = new IndexTestCatalog(21, this::randomEvent);
+	private final Random random = catalog.random;
+	private final LocalDate today = LocalDate.now();
+	private EventFacetIndex facetIndex;
+
+	@BeforeEach
+	void setUp() {
+		// More events than one bitset word and than the initial slots, so both grow
+		catalog.fill(1500);
+		EventDao eventDao = new EventDao() {
+			@Override
+			public List<Object[]> findPublicEventFacets(LocalDate today) {
+				return catalog.events.values().stream()
+						.filter(e -> !e.getEventDate().isBefore(today))
+						.map(e -> new Object[] { e.getEventId(), e.getEventDate(), e.getTicketPrice(), e.getEventCategory() })
+						.toList();
+			}
+		};
+		facetIndex = new EventFacetIndex();
+		ReflectionTestUtils.setField(facetIndex, "eventDao", eventDao);
+		facetIndex.rebuild();
+	}
+
+	@Test
+	void rebuiltBitsetsMatchBruteForce() {
+		assertThat(facetIndex.browse(new EventFacetFilter(), 0, 20).total()).isEqualTo(catalog.events.size());
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void updatedBitsetsMatchBruteForce() {
+		for (int round = 0; round < 5; round++) {
+			catalog.churn(300, 2500, this::unlist, facetIndex::index, facetIndex::remove);
+			assertMatchesBruteForce();
+		}
+	}
+
+	@Test
+	void rebuildAfterUpdatesMatchesBruteForce() {
+		for (int i = 0; i < 500; i++) {
+			int eventId = 1 + random.nextInt(3000);
+			catalog.replace(eventId);
+			facetIndex.index(catalog.events.get(eventId));
+		}
+		facetIndex.rebuild();
+		assertMatchesBruteForce();
+	}
+
+	// Browsing reads the columns a rebuild swaps in whole, so it never sees them half filled
+	@Test
+	void browsingDuringRebuildSeesEveryEvent() throws Exception {
+		Map<EventFacetFilter, EventFacetIndex.Result> expected = new HashMap<>();
+		for (int i = 0; i < 20; i++) {
+			EventFacetFilter filter = randomFilter();
+			expected.put(filter, bruteForce(filter, 0, 50));
+		}
+
+		IndexTestCatalog.readWhileWriting(50, facetIndex::rebuild, () -> expected.forEach((filter, result) ->
+				assertThat(facetIndex.browse(filter, 0, 50)).as("browse %s", filter).isEqualTo(result)));
+	}
+
+	private boolean unlist(Event event) {
+		if (random.nextInt(6) == 0) {
+			event.setPrivacySettings(PrivacySettings.INVITE_ONLY);
+			return true;
+		}
+		if (random.nextInt(6) == 0) {
+			event.setEventDate(today.minusDays(1 + random.nextInt(10)));
+			return true;
+		}
+		return false;
+	}
+
+	private void assertMatchesBruteForce() {
+		for (int i = 0; i < 300; i++) {
+			EventFacetFilter filter = randomFilter();
+			int page = random.nextInt(4);
+			int size = 1 + random.nextInt(60);
+			assertThat(facetIndex.browse(filter, page, size)).as("browse %s page %d size %d", filter, page, size)
+					.isEqualTo(bruteForce(filter, page, size));
+		}
+	}
+
+	private EventFacetFilter randomFilter() {
+		return EventFacetFilter.builder()
+				.category(options(EventCategory.values()))
+				.priceBand(options(PriceBand.values()))
+				.dayType(options(DayType.values()))
+				.priceType(options(PriceType.values()))
+				.startDate(random.nextInt(3) == 0 ? null : today.plusDays(random.nextInt(50) - 10))
+				.endDate(random.nextInt(3) == 0 ? null : today.plusDays(random.nextInt(70)))
+				.build();
+	}
+
+	// Filters and counts every catalog event one by one
+	private EventFacetIndex.Result bruteForce(EventFacetFilter filter, int page, int size) {
+		List<Event> dated = new ArrayList<>();
+		for (Event event : catalog.events.values()) {
+			LocalDate date = event.getEventDate();
+			if (date.isBefore(today) || filter.getStartDate() != null && date.isBefore(filter.getStartDate())
+					|| filter.getEndDate() != null && date.isAfter(filter.getEndDate())) {
+				continue;
+			}
+			dated.add(event);
+		}
+
+		List<Event> matches = dated.stream()
+				.filter(e -> chosen(filter.getCategory(), e.getEventCategory()))
+				.filter(e -> chosen(filter.getPriceBand(), PriceBand.of(e.getTicketPrice())))
+				.filter(e -> chosen(filter.getDayType(), DayType.of(e.getEventDate())))
+				.filter(e -> chosen(filter.getPriceType(), PriceType.of(e.getTicketPrice())))
+				.sorted(Comparator.comparing(Event::getEventDate).thenComparingInt(Event::getEventId))
+				.toList();
+		List<Integer> eventIds = matches.stream()
+				.skip((long) page * size)
+				.limit(size)
+				.map(Event::getEventId)
+				.toList();
+
+		// An option counts the events passing every other facet's choice
+		Map<EventCategory, Integer> categoryCounts = counts(EventCategory.class, dated.stream()
+				.filter(e -> chosen(filter.getPriceBand(), PriceBand.of(e.getTicketPrice())))
+				.filter(e -> chosen(filter.getDayType(), DayType.of(e.getEventDate())))
+				.filter(e -> chosen(filter.getPriceType(), PriceType.of(e.getTicketPrice())))
+				.toList(), Event::getEventCategory);
+		Map<PriceBand, Integer> priceBandCounts = counts(PriceBand.class, dated.stream()
+				.filter(e -> chosen(filter.getCategory(), e.getEventCategory()))
+				.filter(e -> chosen(filter.getDayType(), DayType.of(e.getEventDate())))
+				.filter(e -> chosen(filter.getPriceType(), PriceType.of(e.getTicketPrice())))
+				.toList(), e -> PriceBand.of(e.getTicketPrice()));
+		Map<DayType, Integer> dayTypeCounts = counts(DayType.class, dated.stream()
+				.filter(e -> chosen(filter.getCategory(), e.getEventCategory()))
+				.filter(e -> chosen(filter.getPriceBand(), PriceBand.of(e.getTicketPrice())))
+				.filter(e -> chosen(filter.getPriceType(), PriceType.of(e.getTicketPrice())))
+				.toList(), e -> DayType.of(e.getEventDate()));
+		Map<PriceType, Integer> priceTypeCounts = counts(PriceType.class, dated.stream()
+				.filter(e -> chosen(filter.getCategory(), e.getEventCategory()))
+				.filter(e -> chosen(filter.getPriceBand(), PriceBand.of(e.getTicketPrice())))
+				.filter(e -> chosen(filter.getDayType(), DayType.of(e.getEventDate())))
+				.toList(), e -> PriceType.of(e.getTicketPrice()));
+
+		return new EventFacetIndex.Result(eventIds, matches.size(), categoryCounts, priceBandCounts, dayTypeCounts,
+				priceTypeCounts);
+	}
+
+	private static <E extends Enum<E>> boolean chosen(List<E> options, E value) {
+		return options == null || options.isEmpty() || options.contains(value);
+	}
+
+	private static <E extends Enum<E>> Map<E, Integer> counts(Class<E> type, List<Event> events, Function<Event, E> option) {
+		Map<E, Integer> counts = new EnumMap<>(type);
+		for (E value : type.getEnumConstants()) {
+			counts.put(value, 0);
+		}
+		for (Event event : events) {
+			E value = option.apply(event);
+			if (value != null) {
+				counts.merge(value, 1, Integer::sum);
+			}
+		}
+		return counts;
+	}
+
+	// No choice, an empty choice, or one to three options with repeats
+	private <E extends Enum<E>> List<E> options(E[] values) {
+		int choice = random.nextInt(5);
+		if (choice == 0) {
+			return null;
+		}
+		List<E> options = new ArrayList<>();
+		for (int i = 1; i < choice; i++) {
+			options.add(values[random.nextInt(values.length)]);
+		}
+		return options;
+	}
+
+	private Event randomEvent(int eventId) {
+		EventCategory[] categories = EventCategory.values();
+		return Event.builder()
+				.eventId(eventId)
+				.eventDate(today.plusDays(random.nextInt(60)))
+				.ticketPrice(PRICES[random.nextInt(PRICES.length)])
+				.eventCategory(random.nextInt(12) == 0 ? null : categories[random.nextInt(categories.length)])
+				.privacySettings(PrivacySettings.PUBLIC)
+				.build();
+	}
+}
@@ -0,0 +1,171 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.PrivacySettings;
+
+class EventSearchIndexTests {
+
+	private static final String[] WORDS = { "jazz", "jazzy", "java", "rock", "rocket", "art", "arts", "artisan",
+			"Café", "cafe", "summer", "sun", "Sunday", "night", "NIGHTS", "open-air", "42" };
+	private static final String[] QUERIES = { "jazz", "ja", "j", "roc", "rocket", "art", "ARTS", "cafe", "CAFÉ",
+			"caf", "sun", "sunday night", "su ni", "jazz rock", "open air", "4", "42", "zzz", "jazz zzz", "  ", "!!" };
+
+	private final IndexTestCatalog catalog = new IndexTestCatalog(19, this::randomEvent);
+	private EventSearchIndex searchIndex;
+
+	@BeforeEach
+	void setUp() {
+		catalog.fill(300);
+		EventDao eventDao = new EventDao() {
+			@Override
+			public List<Object[]> findPublicEventTexts() {
+				return catalog.events.values().stream()
+						.map(e -> new Object[] { e.getEventId(), e.getEventName(), e.getVenue(), e.getDescription(), e.getEventDate() })
+						.toList();
+			}
+		};
+		searchIndex = new EventSearchIndex();
+		ReflectionTestUtils.setField(searchIndex, "eventDao", eventDao);
+		searchIndex.rebuild();
+	}
+
+	@Test
+	void rebuiltIndexMatchesBruteForce() {
+		assertThat(searchIndex.search("sunday night", 1000)).isNotEmpty();
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void updatedIndexMatchesBruteForce() {
+		for (int round = 0; round < 5; round++) {
+			catalog.churn(60, 400, this::unlist, searchIndex::index, searchIndex::remove);
+			assertMatchesBruteForce();
+		}
+	}
+
+	@Test
+	void rebuildAfterUpdatesMatchesBruteForce() {
+		for (int i = 0; i < 100; i++) {
+			int eventId = 1 + catalog.random.nextInt(300);
+			catalog.replace(eventId);
+			searchIndex.index(catalog.events.get(eventId));
+		}
+		searchIndex.rebuild();
+		assertMatchesBruteForce();
+	}
+
+	// The catalog doesn't change, so every search has to see the whole index, never a partly built one
+	@Test
+	void searchesDuringRebuildSeeTheWholeIndex() throws Exception {
+		Map<String, List<Integer>> expected = new HashMap<>();
+		for (String query : QUERIES) {
+			expected.put(query, bruteForce(query, 1000));
+		}
+		assertThat(expected.get("jazz")).isNotEmpty();
+
+		IndexTestCatalog.readWhileWriting(50, searchIndex::rebuild, () -> {
+			for (String query : QUERIES) {
+				assertThat(searchIndex.search(query, 1000)).as("search '%s'", query).isEqualTo(expected.get(query));
+			}
+		});
+	}
+
+	private boolean unlist(Event event) {
+		if (catalog.random.nextInt(5) != 0) {
+			return false;
+		}
+		event.setPrivacySettings(PrivacySettings.PRIVATE);
+		return true;
+	}
+
+	private void assertMatchesBruteForce() {
+		for (String query : QUERIES) {
+			for (int limit : new int[] { 1, 5, 1000 }) {
+				assertThat(searchIndex.search(query, limit)).as("search '%s' limit %d", query, limit)
+						.isEqualTo(bruteForce(query, limit));
+			}
+		}
+	}
+
+	// Scores every event against every query word the long way, then ranks them
+	private List<Integer> bruteForce(String query, int limit) {
+		List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(EventSearchIndex.words(query)));
+		if (queryWords.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Integer, Integer> scores = new HashMap<>();
+		for (Event event : catalog.events.values()) {
+			Map<String, Integer> weights = weights(event);
+			int score = 0;
+			for (String word : queryWords) {
+				int best = 0;
+				for (Map.Entry<String, Integer> term : weights.entrySet()) {
+					if (term.getKey().startsWith(word)) {
+						best = Math.max(best, term.getValue() * (term.getKey().equals(word) ? 2 : 1));
+					}
+				}
+				if (best == 0) {
+					score = 0;
+					break;
+				}
+				score += best;
+			}
+			if (score > 0) {
+				scores.put(event.getEventId(), score);
+			}
+		}
+
+		LocalDate today = LocalDate.now();
+		Comparator<Integer> byDate = Comparator.comparing(eventId -> catalog.events.get(eventId).getEventDate(),
+				Comparator.nullsLast((a, b) -> {
+					boolean aUpcoming = !a.isBefore(today);
+					boolean bUpcoming = !b.isBefore(today);
+					if (aUpcoming != bUpcoming) {
+						return aUpcoming ? -1 : 1;
+					}
+					return aUpcoming ? a.compareTo(b) : b.compareTo(a);
+				}));
+		return scores.keySet().stream()
+				.sorted(Comparator.<Integer>comparingInt(scores::get).reversed().thenComparing(byDate)
+						.thenComparing(Comparator.naturalOrder()))
+				.limit(limit)
+				.toList();
+	}
+
+	private static Map<String, Integer> weights(Event event) {
+		Map<String, Integer> weights = new HashMap<>();
+		new LinkedHashSet<>(EventSearchIndex.words(event.getEventName())).forEach(term -> weights.merge(term, 3, Integer::sum));
+		new LinkedHashSet<>(EventSearchIndex.words(event.getVenue())).forEach(term -> weights.merge(term, 2, Integer::sum));
+		new LinkedHashSet<>(EventSearchIndex.words(event.getDescription())).forEach(term -> weights.merge(term, 1, Integer::sum));
+		return weights;
+	}
+
+	private Event randomEvent(int eventId) {
+		Random random = catalog.random;
+		return Event.builder()
+				.eventId(eventId)
+				.eventName(catalog.phrase(WORDS, 1 + random.nextInt(3)))
+				.venue(random.nextInt(10) == 0 ? null : catalog.phrase(WORDS, 1 + random.nextInt(2)))
+				.description(random.nextInt(4) == 0 ? null : catalog.phrase(WORDS, random.nextInt(6)))
+				.eventDate(random.nextInt(20) == 0 ? null : LocalDate.now().plusDays(random.nextInt(61) - 30))
+				.privacySettings(PrivacySettings.PUBLIC)
+				.build();
+	}
+}
@@ -0,0 +1,189 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.util.EventCategory;
+import com.example.eventmanagement.util.PrivacySettings;
+
+class EventSuggestIndexTests {
+
+	// Each word is always written the same way, so a phrase's suggested text doesn't depend on which event came first
+	private static final String[] WORDS = { "Jazz", "Jazzy", "Java", "Rock", "Rocket", "Art", "Arts", "Café",
+			"Summer", "Sun", "Sunday", "Night", "Concert", "Social", "Open-Air", "42" };
+	private static final String[] PREFIXES = { "j", "ja", "jaz", "jazz", "jazz ", "jazz n", "jazz night", "s", "su",
+			"sun", "sunday ni", "c", "caf", "CAFÉ", "co", "concert", "sports", "open air", "4", "rock rocket", "night r",
+			"x", "", "  ", "!!" };
+
+	private final IndexTestCatalog catalog = new IndexTestCatalog(20, this::randomEvent);
+	private EventSuggestIndex suggestIndex;
+
+	@BeforeEach
+	void setUp() {
+		catalog.fill(300);
+		EventDao eventDao = new EventDao() {
+			@Override
+			public List<Object[]> findPublicEventPhrases() {
+				return catalog.events.values().stream()
+						.map(e -> new Object[] { e.getEventId(), e.getEventName(), e.getVenue(), e.getEventCategory(), e.getSeatsSold() })
+						.toList();
+			}
+		};
+		suggestIndex = new EventSuggestIndex();
+		ReflectionTestUtils.setField(suggestIndex, "eventDao", eventDao);
+		suggestIndex.rebuild();
+	}
+
+	@Test
+	void rebuiltTrieMatchesBruteForce() {
+		assertThat(suggestIndex.suggest("jazz n", EventSuggestIndex.TOP_K)).isNotEmpty();
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void updatedTrieMatchesBruteForce() {
+		for (int round = 0; round < 5; round++) {
+			catalog.churn(60, 400, this::unlist, suggestIndex::index, suggestIndex::remove);
+			assertMatchesBruteForce();
+		}
+	}
+
+	@Test
+	void emptiedTrieSuggestsNothing() {
+		for (int eventId : List.copyOf(catalog.events.keySet())) {
+			catalog.events.remove(eventId);
+			suggestIndex.remove(eventId);
+		}
+		for (String prefix : PREFIXES) {
+			assertThat(suggestIndex.suggest(prefix, EventSuggestIndex.TOP_K)).as("suggest '%s'", prefix).isEmpty();
+		}
+
+		catalog.replace(7);
+		suggestIndex.index(catalog.events.get(7));
+		assertMatchesBruteForce();
+	}
+
+	@Test
+	void rebuildAfterUpdatesMatchesBruteForce() {
+		for (int i = 0; i < 100; i++) {
+			int eventId = 1 + catalog.random.nextInt(300);
+			catalog.replace(eventId);
+			suggestIndex.index(catalog.events.get(eventId));
+		}
+		suggestIndex.rebuild();
+		assertMatchesBruteForce();
+	}
+
+	// Lookups walk whichever root they read first, so a rebuild swapping it in never shows a partial trie
+	@Test
+	void lookupsDuringRebuildSeeTheWholeTrie() throws Exception {
+		Map<String, List<String>> expected = new HashMap<>();
+		for (String prefix : PREFIXES) {
+			expected.put(prefix, bruteForce(prefix, EventSuggestIndex.TOP_K));
+		}
+		assertThat(expected.get("jazz")).isNotEmpty();
+
+		IndexTestCatalog.readWhileWriting(50, suggestIndex::rebuild, () -> {
+			for (String prefix : PREFIXES) {
+				assertThat(suggestIndex.suggest(prefix, EventSuggestIndex.TOP_K)).as("suggest '%s'", prefix)
+						.isEqualTo(expected.get(prefix));
+			}
+		});
+	}
+
+	// Each write copies the path it touches, so lookups of phrases it doesn't touch never change
+	@Test
+	void lookupsDuringWritesSeeUntouchedPhrases() throws Exception {
+		List<String> expected = bruteForce("sun", EventSuggestIndex.TOP_K);
+		assertThat(expected).isNotEmpty();
+		Event other = Event.builder().eventId(1000).eventName("Rock").privacySettings(PrivacySettings.PUBLIC).build();
+
+		IndexTestCatalog.readWhileWriting(2000, () -> {
+			suggestIndex.index(other);
+			suggestIndex.remove(other.getEventId());
+		}, () -> assertThat(suggestIndex.suggest("sun", EventSuggestIndex.TOP_K)).isEqualTo(expected));
+	}
+
+	private boolean unlist(Event event) {
+		if (catalog.random.nextInt(5) != 0) {
+			return false;
+		}
+		event.setPrivacySettings(PrivacySettings.PRIVATE);
+		return true;
+	}
+
+	private void assertMatchesBruteForce() {
+		for (String prefix : PREFIXES) {
+			for (int limit : new int[] { 1, 3, EventSuggestIndex.TOP_K, 50 }) {
+				assertThat(suggestIndex.suggest(prefix, limit)).as("suggest '%s' limit %d", prefix, limit)
+						.isEqualTo(bruteForce(prefix, limit));
+			}
+		}
+	}
+
+	// Tallies every phrase of every event, then ranks the ones with a word starting with the prefix
+	private List<String> bruteForce(String prefix, int limit) {
+		String typed = String.join(" ", EventSearchIndex.words(prefix));
+		if (typed.isEmpty()) {
+			return List.of();
+		}
+
+		Map<String, Long> popularity = new HashMap<>();
+		for (Event event : catalog.events.values()) {
+			Set<String> texts = new LinkedHashSet<>();
+			for (String text : new String[] { event.getEventName(), event.getVenue(), category(event.getEventCategory()) }) {
+				if (text != null && !EventSearchIndex.words(text).isEmpty()) {
+					texts.add(text);
+				}
+			}
+			texts.forEach(text -> popularity.merge(text, 1L + event.getSeatsSold(), Long::sum));
+		}
+
+		List<String> matches = new ArrayList<>();
+		for (String text : popularity.keySet()) {
+			List<String> words = EventSearchIndex.words(text);
+			for (int i = 0; i < words.size(); i++) {
+				if (String.join(" ", words.subList(i, words.size())).startsWith(typed)) {
+					matches.add(text);
+					break;
+				}
+			}
+		}
+		return matches.stream()
+				.sorted(Comparator.<String>comparingLong(popularity::get).reversed().thenComparing(Comparator.naturalOrder()))
+				.limit(Math.min(limit, EventSuggestIndex.TOP_K))
+				.toList();
+	}
+
+	private static String category(EventCategory category) {
+		return category == null ? null : category.name().charAt(0) + category.name().substring(1).toLowerCase(Locale.ROOT);
+	}
+
+	private Event randomEvent(int eventId) {
+		Random random = catalog.random;
+		EventCategory[] categories = EventCategory.values();
+		return Event.builder()
+				.eventId(eventId)
+				.eventName(catalog.phrase(WORDS, 1 + random.nextInt(3)))
+				.venue(random.nextInt(10) == 0 ? null : catalog.phrase(WORDS, 1 + random.nextInt(2)))
+				.eventCategory(random.nextInt(5) == 0 ? null : categories[random.nextInt(categories.length)])
+				.seatsSold(random.nextInt(3) == 0 ? 0 : random.nextInt(200))
+				.privacySettings(PrivacySettings.PUBLIC)
+				.build();
+	}
+}
@@ -0,0 +1,107 @@
+package com.example.eventmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import com.example.eventmanagement.model.Event;
+
+// Seeded random events that an index test keeps in step with the index under test
+class IndexTestCatalog {
+
+	private static final int READERS = 4;
+
+	final Random random;
+	final Map<Integer, Event> events = new TreeMap<>();
+
+	private final IntFunction<Event> randomEvent;
+
+	IndexTestCatalog(long seed, IntFunction<Event> randomEvent) {
+		this.random = new Random(seed);
+		this.randomEvent = randomEvent;
+	}
+
+	void fill(int size) {
+		for (int eventId = 1; eventId <= size; eventId++) {
+			events.put(eventId, randomEvent.apply(eventId));
+		}
+	}
+
+	void replace(int eventId) {
+		events.put(eventId, randomEvent.apply(eventId));
+	}
+
+	String phrase(String[] words, int count) {
+		StringBuilder phrase = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			phrase.append(i > 0 ? " " : "").append(words[random.nextInt(words.length)]);
+		}
+		return phrase.toString();
+	}
+
+	// Random deletes, and creates or updates of which unlist may hide some from the index
+	void churn(int changes, int maxEventId, Predicate<Event> unlist, Consumer<Event> index, IntConsumer remove) {
+		for (int i = 0; i < changes; i++) {
+			int eventId = 1 + random.nextInt(maxEventId);
+			if (random.nextInt(4) == 0) {
+				events.remove(eventId);
+				remove.accept(eventId);
+				continue;
+			}
+			Event event = randomEvent.apply(eventId);
+			if (unlist.test(event)) {
+				events.remove(eventId);
+			} else {
+				events.put(eventId, event);
+			}
+			index.accept(event);
+		}
+	}
+
+	// Runs read on several threads until write has run the given number of times; reads must never fail
+	static void readWhileWriting(int writes, Runnable write, Runnable read) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(READERS);
+		try {
+			AtomicBoolean writing = new AtomicBoolean(true);
+			CountDownLatch started = new CountDownLatch(READERS);
+			List<Future<Integer>> readers = new ArrayList<>();
+			for (int i = 0; i < READERS; i++) {
+				readers.add(executor.submit(() -> {
+					started.countDown();
+					int reads = 0;
+					while (writing.get()) {
+						read.run();
+						reads++;
+					}
+					return reads;
+				}));
+			}
+
+			started.await();
+			try {
+				for (int i = 0; i < writes; i++) {
+					write.run();
+				}
+			} finally {
+				writing.set(false);
+			}
+			for (Future<Integer> reader : readers) {
+				reader.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.config.ResilienceConfig;
+import com.example.eventmanagement.model.Booking;
+
+@SpringJUnitConfig(RetryOnConflictTests.Config.class)
+class RetryOnConflictTests {
+
+	private static final int MAX_ATTEMPTS = 4;
+
+	@Autowired
+	private RecordingTransactionManager transactions;
+
+	@Autowired
+	private ConflictingWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		transactions.log.clear();
+	}
+
+	@Test
+	void aVersionConflictIsRetriedInAFreshTransaction() {
+		writer.reset(2);
+
+		assertThat(writer.write()).isEqualTo("written");
+
+		assertThat(writer.attempts()).containsExactly(true, true, true);
+		assertThat(transactions.log).containsExactly("begin", "rollback", "begin", "rollback", "begin", "commit");
+	}
+
+	@Test
+	void aConflictThatOutlastsTheRetriesReachesTheCaller() {
+		writer.reset(Integer.MAX_VALUE);
+
+		assertThatThrownBy(writer::write).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+		assertThat(writer.attempts()).hasSize(MAX_ATTEMPTS);
+		assertThat(transactions.log).containsExactly("begin", "rollback", "begin", "rollback", "begin", "rollback",
+				"begin", "rollback");
+	}
+
+	@Configuration
+	@Import(ResilienceConfig.class)
+	static class Config {
+
+		@Bean
+		RecordingTransactionManager transactionManager() {
+			return new RecordingTransactionManager();
+		}
+
+		@Bean
+		ConflictingWriter conflictingWriter() {
+			return new ConflictingWriter();
+		}
+	}
+
+	// Fails the version check on its first few calls, the way a saved Booking does when another request won.
+	// Only reached through its proxy, so its state is read back by method, not by field
+	static class ConflictingWriter {
+
+		private final List<Boolean> attempts = new ArrayList<>();
+		private int conflicts;
+
+		public void reset(int conflicts) {
+			this.conflicts = conflicts;
+			attempts.clear();
+		}
+
+		// Whether each attempt ran inside a transaction
+		public List<Boolean> attempts() {
+			return attempts;
+		}
+
+		@RetryOnConflict
+		@Transactional
+		public String write() {
+			attempts.add(TransactionSynchronizationManager.isActualTransactionActive());
+			if (attempts.size() <= conflicts) {
+				throw new ObjectOptimisticLockingFailureException(Booking.class, 1);
+			}
+			return "written";
+		}
+	}
+
+	static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final List<String> log = new ArrayList<>();
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			log.add("begin");
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			log.add("commit");
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			log.add("rollback");
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.eventmanagement.dao.BookingDao;
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.util.PaymentStatus;
+import com.example.eventmanagement.util.TicketStatus;
+
+class SeatHoldServiceTests {
+
+	private static final int EVENT_ID = 42;
+	private static final int OTHER_EVENT_ID = 43;
+
+	private final List<String> calls = new ArrayList<>();
+	private BookingTable bookingTable;
+	private SeatHoldService seatHoldService;
+	private TicketService ticketService;
+
+	@BeforeEach
+	void setUp() {
+		bookingTable = new BookingTable();
+
+		TicketDao ticketDao = new TicketDao() {
+			@Override
+			public Optional<Ticket> findTicketById(int ticketId) {
+				// Ticket ids equal booking ids here, one seat per booking
+				return bookingTable.load(ticketId).map(booking -> Ticket.builder().ticketId(ticketId).booking(booking)
+						.seatNumber(1).ticketStatus(TicketStatus.BOOKED).build());
+			}
+
+			@Override
+			public List<Ticket> findByBookingId(int bookingId) {
+				return List.of();
+			}
+
+			@Override
+			public List<Ticket> saveTickets(List<Ticket> tickets) {
+				return tickets;
+			}
+
+			@Override
+			public int cancelBookedTickets(Collection<Integer> bookingIds) {
+				calls.add("cancelBookedTickets " + bookingIds);
+				return bookingIds.size();
+			}
+		};
+		SeatInventoryService seatInventory = new SeatInventoryService() {
+			@Override
+			public void release(int eventId, int seats) {
+				calls.add("release " + eventId + " " + seats);
+			}
+
+			@Override
+			public boolean confirmHeld(int eventId, int seats) {
+				calls.add("confirmHeld " + eventId + " " + seats);
+				return true;
+			}
+		};
+		StatsService stats = new StatsService() {
+			@Override
+			public void pendingReleased(int eventId, int bookings) {
+				calls.add("pendingReleased " + eventId + " " + bookings);
+			}
+
+			@Override
+			public void bookingConfirmed(int eventId, LocalDateTime bookingTime, double amount) {
+				calls.add("bookingConfirmed " + eventId);
+			}
+		};
+
+		seatHoldService = new SeatHoldService();
+		ReflectionTestUtils.setField(seatHoldService, "bookingDao", bookingTable);
+		ReflectionTestUtils.setField(seatHoldService, "ticketDao", ticketDao);
+		ReflectionTestUtils.setField(seatHoldService, "seatInventoryService", seatInventory);
+		ReflectionTestUtils.setField(seatHoldService, "statsService", stats);
+		ReflectionTestUtils.setField(seatHoldService, "transactionTemplate", new TransactionTemplate() {
+			@Override
+			public <T> T execute(TransactionCallback<T> action) {
+				return action.doInTransaction(null);
+			}
+		});
+		ReflectionTestUtils.setField(seatHoldService, "sweepBatchSize", 500);
+
+		ticketService = new TicketService();
+		ReflectionTestUtils.setField(ticketService, "ticketDao", ticketDao);
+		ReflectionTestUtils.setField(ticketService, "bookingDao", bookingTable);
+		ReflectionTestUtils.setField(ticketService, "seatInventoryService", seatInventory);
+		ReflectionTestUtils.setField(ticketService, "statsService", stats);
+	}
+
+	@Test
+	void expiredHoldsAreReleasedTogetherPerEvent() {
+		LocalDateTime now = LocalDateTime.now();
+		hold(1, EVENT_ID, 1, now.minusSeconds(4));
+		hold(2, EVENT_ID, 1, now.minusSeconds(3));
+		hold(3, EVENT_ID, 2, now.minusSeconds(2));
+		hold(4, OTHER_EVENT_ID, 1, now.minusSeconds(1));
+		hold(5, EVENT_ID, 1, now.plusMinutes(10));
+
+		seatHoldService.releaseExpiredHolds();
+
+		assertThat(calls).containsExactlyInAnyOrder(
+				"cancelBookedTickets [1, 2]", "release 42 2", "pendingReleased 42 2",
+				"cancelBookedTickets [3]", "release 42 2", "pendingReleased 42 1",
+				"cancelBookedTickets [4]", "release 43 1", "pendingReleased 43 1");
+		assertThat(bookingTable.rows.get(5).getPaymentStatus()).isEqualTo(PaymentStatus.PENDING);
+		assertThat(bookingTable.rows.values().stream().filter(b -> b.getPaymentStatus() == PaymentStatus.FAILED))
+				.hasSize(4);
+	}
+
+	@Test
+	void aHoldPaidForBeforeTheSweepKeepsItsSeat() {
+		hold(1, EVENT_ID, 1, LocalDateTime.now().plusMinutes(10));
+		ticketService.confirmTicket(1);
+
+		// The sweeper still tracks the hold and reaches it once its time is up
+		trackExpired(1);
+		seatHoldService.releaseExpiredHolds();
+
+		assertThat(calls).containsExactly("confirmHeld 42 1", "bookingConfirmed 42");
+		assertThat(bookingTable.rows.get(1).getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+	}
+
+	@Test
+	void aHoldThatExpiresWhilePaymentIsConfirmedIsReleasedOnce() {
+		hold(1, EVENT_ID, 1, LocalDateTime.now().plusMinutes(10));
+		// confirmTicket has checked the hold; the sweeper expires it before the confirmation is written
+		bookingTable.beforeUpdate = () -> {
+			bookingTable.rows.get(1).setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+			trackExpired(1);
+			seatHoldService.releaseExpiredHolds();
+		};
+
+		assertThatThrownBy(() -> ticketService.confirmTicket(1))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		// What the retry of the confirmation finds
+		bookingTable.beforeUpdate = null;
+		assertThatThrownBy(() -> ticketService.confirmTicket(1)).hasMessage("Booking hold has expired. Please book again.");
+
+		assertThat(calls).containsExactly("cancelBookedTickets [1]", "release 42 1", "pendingReleased 42 1");
+		assertThat(bookingTable.rows.get(1).getPaymentStatus()).isEqualTo(PaymentStatus.FAILED);
+	}
+
+	private void hold(int bookingId, int eventId, int seats, LocalDateTime expiresAt) {
+		Booking booking = Booking.builder().bookingId(bookingId)
+				.event(Event.builder().eventId(eventId).ticketPrice(100).build())
+				.paymentStatus(PaymentStatus.PENDING).bookingTime(LocalDateTime.now()).seatCount(seats)
+				.holdExpiresAt(expiresAt).build();
+		bookingTable.rows.put(bookingId, booking);
+		seatHoldService.track(booking);
+	}
+
+	private void trackExpired(int bookingId) {
+		Booking booking = bookingTable.rows.get(bookingId);
+		seatHoldService.track(Booking.builder().bookingId(bookingId).event(booking.getEvent())
+				.seatCount(booking.getSeatCount()).holdExpiresAt(LocalDateTime.now().minusSeconds(1)).build());
+	}
+
+	// Booking rows with the version checks of an entity update and the bulk expireHolds update
+	private static class BookingTable extends BookingDao {
+
+		private final Map<Integer, Booking> rows = new TreeMap<>();
+		private Runnable beforeUpdate;
+
+		// A copy, as a transaction reading the row gets its own entity
+		Optional<Booking> load(int bookingId) {
+			return Optional.ofNullable(rows.get(bookingId)).map(b -> Booking.builder().bookingId(b.getBookingId())
+					.event(b.getEvent()).paymentStatus(b.getPaymentStatus()).bookingTime(b.getBookingTime())
+					.seatCount(b.getSeatCount()).holdExpiresAt(b.getHoldExpiresAt()).version(b.getVersion()).build());
+		}
+
+		@Override
+		public Booking updateBooking(Booking booking) {
+			if (beforeUpdate != null) {
+				beforeUpdate.run();
+			}
+			Booking row = rows.get(booking.getBookingId());
+			if (row.getVersion() != booking.getVersion()) {
+				throw new ObjectOptimisticLockingFailureException(Booking.class, booking.getBookingId());
+			}
+			booking.setVersion(booking.getVersion() + 1);
+			rows.put(booking.getBookingId(), booking);
+			return booking;
+		}
+
+		@Override
+		public int expireHolds(Collection<Integer> bookingIds, int seats) {
+			int expired = 0;
+			for (int bookingId : bookingIds) {
+				Booking row = rows.get(bookingId);
+				if (row.getSeatCount() == seats && row.getPaymentStatus() == PaymentStatus.PENDING
+						&& row.getHoldExpiresAt() != null && !row.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+					row.setPaymentStatus(PaymentStatus.FAILED);
+					row.setHoldExpiresAt(null);
+					row.setVersion(row.getVersion() + 1);
+					expired++;
+				}
+			}
+			return expired;
+		}
+	}
+}
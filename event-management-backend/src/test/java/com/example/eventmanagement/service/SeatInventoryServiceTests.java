@@ -0,0 +1,228 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.EventDao;
+import com.example.eventmanagement.model.Event;
+
+class SeatInventoryServiceTests {
+
+	private static final int EVENT_ID = 42;
+	private static final int CAPACITY = 50;
+	private static final int THREADS = 16;
+	private static final long RECHECK_MS = 200;
+
+	private SeatTable seatTable;
+	private SeatInventoryService seatInventory;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		seatTable = new SeatTable(CAPACITY);
+		seatInventory = new SeatInventoryService();
+		ReflectionTestUtils.setField(seatInventory, "eventDao", seatTable);
+		ReflectionTestUtils.setField(seatInventory, "eventPublisher", (ApplicationEventPublisher) event -> {
+		});
+		ReflectionTestUtils.setField(seatInventory, "soldOutRecheckMs", RECHECK_MS);
+		executor = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentHoldsNeverOversell() throws Exception {
+		Event event = event(CAPACITY);
+
+		List<Integer> held = race(400, i -> seatInventory.tryHold(event, 1 + i % 3) ? 1 + i % 3 : 0);
+
+		int seats = held.stream().mapToInt(Integer::intValue).sum();
+		assertThat(seatTable.peakTaken).isLessThanOrEqualTo(CAPACITY);
+		assertThat(seatTable.held).isEqualTo(seats);
+		assertThat(seats).isGreaterThan(CAPACITY - 3);
+		assertThat(seatInventory.isSoldOut(event)).isEqualTo(seats == CAPACITY);
+	}
+
+	@Test
+	void staleCounterNeverOversells() throws Exception {
+		Event event = event(CAPACITY);
+		assertThat(seatInventory.isSoldOut(event)).isFalse();
+
+		// Seats sold elsewhere after this instance loaded its counter
+		seatTable.sold = CAPACITY - 5;
+
+		List<Integer> held = race(100, i -> seatInventory.tryHold(event, 1) ? 1 : 0);
+
+		assertThat(held.stream().mapToInt(Integer::intValue).sum()).isEqualTo(5);
+		assertThat(seatTable.peakTaken).isLessThanOrEqualTo(CAPACITY);
+		assertThat(seatInventory.isSoldOut(event)).isTrue();
+	}
+
+	@Test
+	void seatsReleasedElsewhereReopenASoldOutEvent() throws Exception {
+		Event event = event(CAPACITY);
+		assertThat(seatInventory.tryHold(event, CAPACITY)).isTrue();
+		assertThat(seatInventory.isSoldOut(event)).isTrue();
+
+		// Released by another instance, so this counter is never told
+		seatTable.held -= 3;
+		assertThat(seatInventory.isSoldOut(event)).isTrue();
+
+		Thread.sleep(RECHECK_MS + 10);
+		assertThat(seatInventory.isSoldOut(event)).isFalse();
+		assertThat(seatInventory.tryHold(event, 3)).isTrue();
+		assertThat(seatInventory.tryHold(event, 1)).isFalse();
+		assertThat(seatTable.peakTaken).isEqualTo(CAPACITY);
+	}
+
+	@Test
+	void concurrentHoldsReleasesAndConfirmationsNeverOversell() throws Exception {
+		Event event = event(CAPACITY);
+
+		List<Integer> kept = race(600, i -> {
+			if (!seatInventory.tryHold(event, 2)) {
+				return 0;
+			}
+			switch (i % 3) {
+				case 0:
+					seatInventory.release(EVENT_ID, 2);
+					return 0;
+				case 1:
+					assertThat(seatInventory.confirmHeld(EVENT_ID, 2)).isTrue();
+					seatInventory.releaseSold(EVENT_ID, 2);
+					return 0;
+				default:
+					assertThat(seatInventory.confirmHeld(EVENT_ID, 2)).isTrue();
+					return 2;
+			}
+		});
+
+		assertThat(seatTable.peakTaken).isLessThanOrEqualTo(CAPACITY);
+		assertThat(seatTable.held).isZero();
+		assertThat(seatTable.sold).isEqualTo(kept.stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	void unlimitedEventsHoldThroughTheDatabase() throws Exception {
+		Event event = event(null);
+		seatTable.capacity = null;
+
+		List<Integer> held = race(200, i -> seatInventory.tryHold(event, 1) ? 1 : 0);
+
+		assertThat(held).containsOnly(1);
+		assertThat(seatTable.held).isEqualTo(200);
+		assertThat(seatInventory.isSoldOut(event)).isFalse();
+	}
+
+	private List<Integer> race(int requests, Request request) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			int index = i;
+			Callable<Integer> call = () -> {
+				start.await();
+				return request.run(index);
+			};
+			futures.add(executor.submit(call));
+		}
+		start.countDown();
+
+		List<Integer> results = new ArrayList<>();
+		for (Future<Integer> future : futures) {
+			results.add(future.get(30, TimeUnit.SECONDS));
+		}
+		return results;
+	}
+
+	private static Event event(Integer maxAttendees) {
+		return Event.builder().eventId(EVENT_ID).maxAttendees(maxAttendees).build();
+	}
+
+	private interface Request {
+		int run(int index) throws Exception;
+	}
+
+	// The conditional updates of EventRepository over one events row, one statement at a time
+	private static class SeatTable extends EventDao {
+
+		private Integer capacity;
+		private int sold;
+		private int held;
+		private int peakTaken;
+
+		private SeatTable(Integer capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		public synchronized Optional<Integer> findRemainingSeats(int eventId) {
+			return Optional.of(capacity - sold - held);
+		}
+
+		@Override
+		public synchronized boolean holdSeats(int eventId, int seats) {
+			if (capacity != null && sold + held + seats > capacity) {
+				return false;
+			}
+			held += seats;
+			peakTaken = Math.max(peakTaken, sold + held);
+			return true;
+		}
+
+		@Override
+		public synchronized boolean convertHeldSeats(int eventId, int seats) {
+			if (held < seats) {
+				return false;
+			}
+			held -= seats;
+			sold += seats;
+			return true;
+		}
+
+		@Override
+		public synchronized boolean sellSeats(int eventId, int seats) {
+			if (capacity != null && sold + held + seats > capacity) {
+				return false;
+			}
+			sold += seats;
+			peakTaken = Math.max(peakTaken, sold + held);
+			return true;
+		}
+
+		@Override
+		public synchronized boolean releaseHeldSeats(int eventId, int seats) {
+			if (held < seats) {
+				return false;
+			}
+			held -= seats;
+			return true;
+		}
+
+		@Override
+		public synchronized boolean releaseSoldSeats(int eventId, int seats) {
+			if (sold < seats) {
+				return false;
+			}
+			sold -= seats;
+			return true;
+		}
+	}
+}
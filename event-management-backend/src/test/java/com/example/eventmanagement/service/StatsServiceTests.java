@@ -0,0 +1,258 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.eventmanagement.dao.BookingBucketDao;
+import com.example.eventmanagement.dao.EventStatsDao;
+import com.example.eventmanagement.dao.OrganizerStatsDao;
+import com.example.eventmanagement.model.EventStats;
+import com.example.eventmanagement.util.PaymentStatus;
+import com.example.eventmanagement.util.SeriesGranularity;
+
+class StatsServiceTests {
+
+	private static final int EVENT_ID = 42;
+	private static final int ORGANIZER_ID = 3;
+	private static final LocalDateTime OPENED = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+	private StatsTables tables;
+	private StatsService statsService;
+
+	@BeforeEach
+	void setUp() {
+		tables = new StatsTables();
+		statsService = new StatsService();
+		ReflectionTestUtils.setField(statsService, "eventStatsDao", tables.eventStats);
+		ReflectionTestUtils.setField(statsService, "organizerStatsDao", tables.organizerStats);
+		ReflectionTestUtils.setField(statsService, "bookingBucketDao", tables.buckets);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void bookingsShareOneWritePerRowAfterTheyCommit() {
+		for (int i = 0; i < 50; i++) {
+			inTransaction(true, () -> statsService.bookingCreated(EVENT_ID, OPENED.plusSeconds(1)));
+		}
+		assertThat(tables.writes).isEmpty();
+
+		statsService.flushDeltas();
+
+		// One event row, one organizer row and the minute, hour and day of one booking minute
+		assertThat(tables.writes).containsExactly("event 42", "buckets 42", "organizer 3");
+		assertThat(tables.eventRow().getTotalBookings()).isEqualTo(50);
+		assertThat(tables.eventRow().getPendingBookings()).isEqualTo(50);
+		assertThat(tables.organizerRow[0]).isEqualTo(50);
+	}
+
+	@Test
+	void rolledBackBookingsAreNeverCounted() {
+		inTransaction(false, () -> statsService.bookingCreated(EVENT_ID, OPENED));
+		inTransaction(true, () -> statsService.bookingCreated(EVENT_ID, OPENED));
+
+		statsService.flushDeltas();
+
+		assertThat(tables.eventRow().getTotalBookings()).isEqualTo(1);
+		assertThat(tables.bucketRows.get("MINUTE " + OPENED)).containsExactly(1, 0);
+	}
+
+	@Test
+	void aFailedWriteIsRetriedByTheNextFlush() {
+		inTransaction(true, () -> statsService.bookingCreated(EVENT_ID, OPENED));
+		tables.failNextWrite = true;
+		statsService.flushDeltas();
+		inTransaction(true, () -> statsService.bookingConfirmed(EVENT_ID, OPENED, 250));
+
+		statsService.flushDeltas();
+
+		assertThat(tables.eventRow().getTotalBookings()).isEqualTo(1);
+		assertThat(tables.eventRow().getConfirmedBookings()).isEqualTo(1);
+		assertThat(tables.eventRow().getPendingBookings()).isZero();
+		assertThat(tables.eventRow().getRevenue()).isEqualTo(250);
+		assertThat(tables.organizerRow).containsExactly(1, 1, 0, 250);
+	}
+
+	@Test
+	void deltasAddUpToWhatTheRebuildCounts() {
+		Random random = new Random(11);
+		List<SimulatedBooking> bookings = new ArrayList<>();
+
+		for (int step = 0; step < 2000; step++) {
+			LocalDateTime now = OPENED.plusSeconds(step * 17L);
+			boolean commit = random.nextInt(10) > 0;
+			SimulatedBooking booking = bookings.isEmpty() || random.nextInt(4) == 0 ? null
+					: bookings.get(random.nextInt(bookings.size()));
+
+			if (booking == null) {
+				inTransaction(commit, () -> statsService.bookingCreated(EVENT_ID, now));
+				if (commit) {
+					bookings.add(new SimulatedBooking(PaymentStatus.PENDING, now, 0));
+				}
+			} else if (booking.status == PaymentStatus.PENDING && random.nextBoolean()) {
+				double amount = 100 * (1 + random.nextInt(5));
+				inTransaction(commit, () -> statsService.bookingConfirmed(EVENT_ID, booking.bookingTime, amount));
+				if (commit) {
+					booking.status = PaymentStatus.COMPLETED;
+					booking.amountPaid = amount;
+				}
+			} else if (booking.status == PaymentStatus.PENDING) {
+				// Expired or cancelled before payment
+				inTransaction(commit, () -> statsService.pendingReleased(EVENT_ID, 1));
+				if (commit) {
+					booking.status = PaymentStatus.FAILED;
+				}
+			} else if (booking.status == PaymentStatus.COMPLETED) {
+				inTransaction(commit,
+						() -> statsService.confirmedCancelled(EVENT_ID, booking.bookingTime, booking.amountPaid));
+				if (commit) {
+					booking.status = PaymentStatus.FAILED;
+				}
+			} else {
+				LocalDateTime previous = booking.bookingTime;
+				inTransaction(commit, () -> statsService.bookingReopened(EVENT_ID, previous, now));
+				if (commit) {
+					booking.status = PaymentStatus.PENDING;
+					booking.bookingTime = now;
+				}
+			}
+
+			if (random.nextInt(50) == 0) {
+				statsService.flushDeltas();
+			}
+		}
+		statsService.flushDeltas();
+
+		// What EventStatsRepository.rebuildAll and BookingBucketRepository.rebuildAll count
+		long confirmed = bookings.stream().filter(b -> b.status == PaymentStatus.COMPLETED).count();
+		long pending = bookings.stream().filter(b -> b.status == PaymentStatus.PENDING).count();
+		double revenue = bookings.stream().filter(b -> b.status == PaymentStatus.COMPLETED)
+				.mapToDouble(b -> b.amountPaid).sum();
+		Map<String, double[]> buckets = new TreeMap<>();
+		for (SimulatedBooking b : bookings) {
+			double paid = b.status == PaymentStatus.COMPLETED ? b.amountPaid : 0;
+			for (SeriesGranularity granularity : SeriesGranularity.values()) {
+				buckets.merge(granularity + " " + granularity.truncate(b.bookingTime), new double[] { 1, paid },
+						(x, y) -> new double[] { x[0] + y[0], x[1] + y[1] });
+			}
+		}
+
+		EventStats row = tables.eventRow();
+		assertThat(row.getTotalBookings()).isEqualTo(bookings.size());
+		assertThat(row.getConfirmedBookings()).isEqualTo(confirmed);
+		assertThat(row.getPendingBookings()).isEqualTo(pending);
+		assertThat(row.getRevenue()).isEqualTo(revenue);
+		assertThat(tables.organizerRow).containsExactly(bookings.size(), confirmed, pending, revenue);
+		// The rebuild leaves no empty buckets behind; reopened bookings may move out of one here
+		tables.bucketRows.values().removeIf(b -> b[0] == 0 && b[1] == 0);
+		assertThat(tables.bucketRows).containsOnlyKeys(buckets.keySet());
+		buckets.forEach((key, expected) -> assertThat(tables.bucketRows.get(key)).as(key).containsExactly(expected));
+	}
+
+	// Runs a booking change as the TicketService transaction would, then commits or rolls it back
+	private static void inTransaction(boolean commit, Runnable change) {
+		TransactionSynchronizationManager.initSynchronization();
+		List<TransactionSynchronization> synchronizations;
+		try {
+			change.run();
+		} finally {
+			synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		if (commit) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+	}
+
+	private static class SimulatedBooking {
+
+		private PaymentStatus status;
+		private LocalDateTime bookingTime;
+		private double amountPaid;
+
+		SimulatedBooking(PaymentStatus status, LocalDateTime bookingTime, double amountPaid) {
+			this.status = status;
+			this.bookingTime = bookingTime;
+			this.amountPaid = amountPaid;
+		}
+	}
+
+	// The event_stats row of one event, its organizer's organizer_stats row and booking_buckets
+	private static class StatsTables {
+
+		private final EventStats eventRow = EventStats.builder().eventId(EVENT_ID).organizerId(ORGANIZER_ID).build();
+		private final double[] organizerRow = new double[4];
+		private final Map<String, double[]> bucketRows = new HashMap<>();
+		private final List<String> writes = new ArrayList<>();
+		private boolean failNextWrite;
+
+		EventStats eventRow() {
+			return eventRow;
+		}
+
+		private final EventStatsDao eventStats = new EventStatsDao() {
+			@Override
+			public boolean applyDelta(int eventId, long total, long confirmed, long pending, double revenue) {
+				if (failNextWrite) {
+					failNextWrite = false;
+					throw new IllegalStateException("lock wait timeout");
+				}
+				writes.add("event " + eventId);
+				eventRow.setTotalBookings(eventRow.getTotalBookings() + total);
+				eventRow.setConfirmedBookings(eventRow.getConfirmedBookings() + confirmed);
+				eventRow.setPendingBookings(eventRow.getPendingBookings() + pending);
+				eventRow.setRevenue(eventRow.getRevenue() + revenue);
+				return true;
+			}
+
+			@Override
+			public Optional<Integer> findOrganizerId(int eventId) {
+				return Optional.of(ORGANIZER_ID);
+			}
+		};
+
+		private final OrganizerStatsDao organizerStats = new OrganizerStatsDao() {
+			@Override
+			public void applyDelta(int organizerId, long total, long confirmed, long pending, double revenue) {
+				writes.add("organizer " + organizerId);
+				organizerRow[0] += total;
+				organizerRow[1] += confirmed;
+				organizerRow[2] += pending;
+				organizerRow[3] += revenue;
+			}
+		};
+
+		private final BookingBucketDao buckets = new BookingBucketDao() {
+			@Override
+			public void addToBuckets(int eventId, LocalDateTime bookingTime, long bookings, double revenue) {
+				writes.add("buckets " + eventId);
+				for (SeriesGranularity granularity : SeriesGranularity.values()) {
+					double[] row = bucketRows.computeIfAbsent(granularity + " " + granularity.truncate(bookingTime),
+							key -> new double[2]);
+					row[0] += bookings;
+					row[1] += revenue;
+				}
+			}
+		};
+	}
+}
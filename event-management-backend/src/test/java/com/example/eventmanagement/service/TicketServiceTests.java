@@ -0,0 +1,138 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.BookingDao;
+import com.example.eventmanagement.dao.TicketDao;
+import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.model.User;
+import com.example.eventmanagement.util.PaymentStatus;
+import com.example.eventmanagement.util.TicketStatus;
+
+class TicketServiceTests {
+
+	private static final int USER_ID = 11;
+	private static final int EVENT_ID = 42;
+	private static final int SEATS = 3;
+
+	private final List<String> calls = new ArrayList<>();
+	private Booking booking;
+	private List<Ticket> tickets;
+	private boolean scannedAtTheDoor;
+	private TicketService ticketService;
+
+	@BeforeEach
+	void setUp() {
+		booking = Booking.builder()
+				.bookingId(5)
+				.user(User.builder().userId(USER_ID).build())
+				.event(Event.builder().eventId(EVENT_ID).ticketPrice(100.0).build())
+				.paymentStatus(PaymentStatus.COMPLETED)
+				.bookingTime(LocalDateTime.now())
+				.seatCount(SEATS)
+				.amountPaid(SEATS * 100.0)
+				.build();
+		tickets = new ArrayList<>();
+		for (int seat = 1; seat <= SEATS; seat++) {
+			tickets.add(Ticket.builder().ticketId(seat).booking(booking).seatNumber(seat)
+					.ticketStatus(TicketStatus.ACTIVE).ticketCode("code-" + seat).build());
+		}
+
+		ticketService = new TicketService();
+		ReflectionTestUtils.setField(ticketService, "ticketDao", new TicketDao() {
+			@Override
+			public Optional<Ticket> findTicketById(int ticketId) {
+				return tickets.stream().filter(t -> t.getTicketId() == ticketId).findFirst();
+			}
+
+			@Override
+			public List<Ticket> findByBookingId(int bookingId) {
+				return List.copyOf(tickets);
+			}
+
+			@Override
+			public List<Ticket> saveTickets(List<Ticket> saved) {
+				calls.add("saveTickets " + saved.size());
+				return saved;
+			}
+		});
+		ReflectionTestUtils.setField(ticketService, "bookingDao", new BookingDao() {
+			@Override
+			public Booking updateBooking(Booking updated) {
+				calls.add("updateBooking " + updated.getPaymentStatus());
+				return updated;
+			}
+		});
+		ReflectionTestUtils.setField(ticketService, "checkInService", new CheckInService() {
+			@Override
+			public boolean revoke(int eventId, Collection<Integer> ticketIds) {
+				calls.add("revoke " + ticketIds);
+				return !scannedAtTheDoor;
+			}
+		});
+		ReflectionTestUtils.setField(ticketService, "seatInventoryService", new SeatInventoryService() {
+			@Override
+			public void releaseSold(int eventId, int seats) {
+				calls.add("releaseSold " + seats);
+			}
+		});
+		ReflectionTestUtils.setField(ticketService, "statsService", new StatsService() {
+			@Override
+			public void confirmedCancelled(int eventId, LocalDateTime bookingTime, double amount) {
+				calls.add("confirmedCancelled " + amount);
+			}
+		});
+	}
+
+	@Test
+	void cancellingAPaidBookingReleasesAndRefundsEverySeat() {
+		ticketService.cancelTicket(1, USER_ID);
+
+		assertThat(tickets).extracting(Ticket::getTicketStatus).containsOnly(TicketStatus.CANCELLED);
+		assertThat(tickets).extracting(Ticket::getTicketCode).containsOnlyNulls();
+		assertThat(calls).containsExactly("revoke [1, 2, 3]", "updateBooking FAILED", "saveTickets 3",
+				"releaseSold 3", "confirmedCancelled 300.0");
+	}
+
+	@Test
+	void aUsedSeatBlocksCancellingTheBooking() {
+		tickets.get(1).setTicketStatus(TicketStatus.USED);
+
+		assertThatThrownBy(() -> ticketService.cancelTicket(1, USER_ID)).hasMessage("Ticket has already been used");
+
+		assertThat(tickets).extracting(Ticket::getTicketStatus)
+				.containsExactly(TicketStatus.ACTIVE, TicketStatus.USED, TicketStatus.ACTIVE);
+		assertThat(calls).isEmpty();
+		assertThat(booking.getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+	}
+
+	@Test
+	void aSeatAdmittedButNotYetFlushedBlocksCancellingTheBooking() {
+		scannedAtTheDoor = true;
+
+		assertThatThrownBy(() -> ticketService.cancelTicket(3, USER_ID)).hasMessage("Ticket has already been used");
+
+		assertThat(tickets).extracting(Ticket::getTicketStatus).containsOnly(TicketStatus.ACTIVE);
+		assertThat(calls).containsExactly("revoke [1, 2, 3]");
+		assertThat(booking.getPaymentStatus()).isEqualTo(PaymentStatus.COMPLETED);
+	}
+
+	@Test
+	void onlyTheBookingsOwnerCanCancel() {
+		assertThatThrownBy(() -> ticketService.cancelTicket(1, USER_ID + 1)).hasMessage("Unauthorized cancellation");
+		assertThat(calls).isEmpty();
+	}
+}
@@ -0,0 +1,153 @@
+package com.example.eventmanagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.eventmanagement.dao.WaitlistEntryDao;
+import com.example.eventmanagement.dto.EmailConfiguration;
+import com.example.eventmanagement.exception.DuplicateBookingException;
+import com.example.eventmanagement.model.Booking;
+import com.example.eventmanagement.model.Event;
+import com.example.eventmanagement.model.Ticket;
+import com.example.eventmanagement.model.User;
+import com.example.eventmanagement.service.WaitlistService.Waiter;
+
+class WaitlistPromotionServiceTests {
+
+	private static final int EVENT_ID = 42;
+
+	private final List<Integer> deletedEntries = new ArrayList<>();
+	private final List<Integer> bookingAttempts = new ArrayList<>();
+	private final List<EmailConfiguration> sentMails = new ArrayList<>();
+	// What bookFromWaitlist does for each user; users not listed get a held seat
+	private final Map<Integer, IntFunction<Optional<Ticket>>> outcomes = new HashMap<>();
+
+	private WaitlistService waitlistService;
+	private WaitlistPromotionService promotionService;
+
+	@BeforeEach
+	void setUp() {
+		waitlistService = new WaitlistService();
+		ReflectionTestUtils.setField(waitlistService, "waitlistEntryDao", new WaitlistEntryDao() {
+			@Override
+			public List<Object[]> findAllInJoinOrder() {
+				// entry id, event id, user id
+				return List.of(new Object[] { 1, EVENT_ID, 101 }, new Object[] { 2, EVENT_ID, 102 },
+						new Object[] { 3, EVENT_ID, 103 });
+			}
+
+			@Override
+			public boolean deleteEntry(int entryId) {
+				deletedEntries.add(entryId);
+				return true;
+			}
+		});
+
+		TicketService ticketService = new TicketService() {
+			@Override
+			public Optional<Ticket> bookFromWaitlist(int userId, int eventId) {
+				bookingAttempts.add(userId);
+				return outcomes.getOrDefault(userId, WaitlistPromotionServiceTests::heldSeat).apply(userId);
+			}
+		};
+		EmailService emailService = new EmailService() {
+			@Override
+			public void sendMails(List<EmailConfiguration> configs) {
+				sentMails.addAll(configs);
+			}
+		};
+
+		promotionService = new WaitlistPromotionService();
+		ReflectionTestUtils.setField(promotionService, "waitlistService", waitlistService);
+		ReflectionTestUtils.setField(promotionService, "ticketService", ticketService);
+		ReflectionTestUtils.setField(promotionService, "emailService", emailService);
+		ReflectionTestUtils.setField(promotionService, "notifyBatchSize", 50);
+
+		// Marks the loaded event as having freed seats, as after a restart
+		waitlistService.loadWaitlists();
+	}
+
+	@Test
+	void waitersArePromotedInJoinOrderUntilTheSeatsRunOut() {
+		outcomes.put(103, userId -> Optional.empty());
+
+		promotionService.promoteWaiters();
+
+		assertThat(bookingAttempts).containsExactly(101, 102, 103);
+		assertThat(deletedEntries).containsExactly(1, 2);
+		assertThat(waitlistService.peek(EVENT_ID)).contains(new Waiter(3, 103));
+
+		// Nothing is tried again until another seat is released
+		promotionService.promoteWaiters();
+		assertThat(bookingAttempts).hasSize(3);
+
+		outcomes.remove(103);
+		waitlistService.onSeatsReleased(new SeatInventoryService.SeatsReleased(EVENT_ID, 1));
+		promotionService.promoteWaiters();
+		assertThat(bookingAttempts).containsExactly(101, 102, 103, 103);
+		assertThat(waitlistService.hasWaiters(EVENT_ID)).isFalse();
+	}
+
+	@Test
+	void promotedUsersAreEmailedInOneBatch() {
+		promotionService.promoteWaiters();
+		assertThat(sentMails).isEmpty();
+
+		promotionService.sendNotifications();
+
+		assertThat(sentMails).extracting(EmailConfiguration::getTo)
+				.containsExactly("user101@example.com", "user102@example.com", "user103@example.com");
+		assertThat(sentMails.get(0).getBody()).contains("ticket #101");
+	}
+
+	@Test
+	void anEntryThatCanNeverBeServedIsDroppedForTheNextInLine() {
+		outcomes.put(101, userId -> {
+			throw new DuplicateBookingException("You have already booked this event");
+		});
+
+		promotionService.promoteWaiters();
+
+		assertThat(bookingAttempts).containsExactly(101, 102, 103);
+		assertThat(deletedEntries).containsExactly(1, 2, 3);
+		promotionService.sendNotifications();
+		assertThat(sentMails).hasSize(2);
+	}
+
+	@Test
+	void aWaiterKeepsTheirPlaceWhenPromotionFailsForNow() {
+		outcomes.put(101, userId -> {
+			throw new IllegalStateException("lock wait timeout");
+		});
+
+		promotionService.promoteWaiters();
+
+		assertThat(bookingAttempts).containsExactly(101);
+		assertThat(deletedEntries).isEmpty();
+		assertThat(waitlistService.peek(EVENT_ID)).contains(new Waiter(1, 101));
+
+		// The event is tried again on the next run without another release
+		outcomes.remove(101);
+		promotionService.promoteWaiters();
+		assertThat(bookingAttempts).containsExactly(101, 101, 102, 103);
+		assertThat(deletedEntries).containsExactly(1, 2, 3);
+	}
+
+	private static Optional<Ticket> heldSeat(int userId) {
+		User user = User.builder().userId(userId).email("user" + userId + "@example.com").build();
+		Booking booking = Booking.builder().user(user).event(Event.builder().eventId(EVENT_ID).eventName("Jazz night").build())
+				.seatCount(1).holdExpiresAt(LocalDateTime.now().plusMinutes(15)).build();
+		return Optional.of(Ticket.builder().ticketId(userId).booking(booking).seatNumber(1).build());
+	}
+}